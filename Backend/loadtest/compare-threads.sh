@@ -0,0 +1,59 @@
+#!/usr/bin/env bash
+# Confronto platform thread vs virtual thread a 1k, 5k e 10k connessioni concorrenti.
+# Richiede k6, un database configurato nel .env e il jar costruito con `./mvnw -DskipTests package`.
+# La cache degli articoli per id è disattivata, così /api/articles/{id} legge dal database.
+# I riepiloghi JSON di k6 vengono salvati in loadtest/results/<modalità>-<vus>.json e
+# riassunti in loadtest/results/comparison.md (richiede jq).
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+PORT="${SERVER_PORT:-8081}"
+STARTUP_TIMEOUT="${STARTUP_TIMEOUT:-120}"
+JAR="$(ls target/HextechHub-*.jar | head -n 1)"
+mkdir -p loadtest/results
+
+for mode in platform virtual; do
+  enabled=false
+  [ "$mode" = "virtual" ] && enabled=true
+  VIRTUAL_THREADS_ENABLED=$enabled \
+  VIRTUAL_THREADS_PINNING_DETECTION=$enabled \
+  ARTICLES_CACHE_ENABLED=false \
+  TOMCAT_MAX_CONNECTIONS=12000 \
+  SERVER_PORT=$PORT \
+    java -jar "$JAR" > "loadtest/results/$mode-server.log" 2>&1 &
+  pid=$!
+  trap 'kill $pid 2>/dev/null || true' EXIT
+  # Attende l'avvio fino a STARTUP_TIMEOUT secondi; esce se il server termina o non risponde
+  waited=0
+  until curl -sf "http://localhost:$PORT/api/champions" > /dev/null; do
+    if ! kill -0 "$pid" 2>/dev/null || [ "$waited" -ge "$STARTUP_TIMEOUT" ]; then
+      echo "Server ($mode) non pronto dopo ${waited}s, vedi loadtest/results/$mode-server.log" >&2
+      exit 1
+    fi
+    sleep 1
+    waited=$((waited + 1))
+  done
+
+  for vus in 1000 5000 10000; do
+    k6 run --quiet -e BASE_URL="http://localhost:$PORT" -e VUS=$vus \
+      --summary-export "loadtest/results/$mode-$vus.json" loadtest/read-paths.js
+  done
+
+  kill $pid
+  wait $pid 2>/dev/null || true
+done
+
+# Tabella di confronto: richieste al secondo, latenze e percentuale di errori per modalità e VU
+{
+  echo "| modalità | VU | req/s | p50 ms | p95 ms | p99 ms | errori |"
+  echo "|---|---|---|---|---|---|---|"
+  for vus in 1000 5000 10000; do
+    for mode in platform virtual; do
+      jq -r --arg mode "$mode" --arg vus "$vus" '
+        "| \($mode) | \($vus) | \(.metrics.http_reqs.rate | floor) | \(.metrics.http_req_duration["p(50)"] | floor)"
+        + " | \(.metrics.http_req_duration["p(95)"] | floor) | \(.metrics.http_req_duration["p(99)"] | floor)"
+        + " | \((.metrics.http_req_failed.value * 10000 | floor) / 100)% |"' \
+        "loadtest/results/$mode-$vus.json"
+    done
+  done
+} > loadtest/results/comparison.md
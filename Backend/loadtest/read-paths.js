@@ -0,0 +1,95 @@
+// Carico k6 sui percorsi di lettura bloccanti (JPA) del backend.
+// Oltre alle risposte in cache (prima pagina del feed, campioni, tier list) colpisce percorsi che
+// interrogano il database a ogni richiesta: articolo per id (avviare il server con
+// ARTICLES_CACHE_ENABLED=false), articoli dell'utente autenticato e pagine del feed con cursore.
+// Uso: k6 run -e BASE_URL=http://localhost:8081 -e VUS=1000 read-paths.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8081';
+const VUS = parseInt(__ENV.VUS || '1000', 10);
+// Articoli pubblicati creati in setup se il feed ne ha meno, e pagine con cursore da percorrere
+const SEED_ARTICLES = parseInt(__ENV.SEED_ARTICLES || '200', 10);
+const FEED_PAGES = parseInt(__ENV.FEED_PAGES || '5', 10);
+const PAGE_SIZE = 20;
+
+const EMAIL = __ENV.LOADTEST_EMAIL || 'loadtest@example.com';
+const PASSWORD = __ENV.LOADTEST_PASSWORD || 'loadtest-password';
+
+export const options = {
+  scenarios: {
+    steady: {
+      executor: 'constant-vus',
+      vus: VUS,
+      duration: __ENV.DURATION || '60s',
+    },
+  },
+  setupTimeout: '120s',
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+const json = { headers: { 'Content-Type': 'application/json' } };
+
+// Utente di prova (la registrazione fallisce se esiste già), articoli pubblicati e cursori del feed
+export function setup() {
+  http.post(`${BASE_URL}/api/auth/signup`, JSON.stringify({
+    email: EMAIL, password: PASSWORD, fullName: 'Load Test', region: 'EUW',
+  }), json);
+  const login = http.post(`${BASE_URL}/api/auth/login`, JSON.stringify({ email: EMAIL, password: PASSWORD }), json);
+  if (login.status !== 200) throw new Error(`login fallito: ${login.status}`);
+  const token = login.json('token');
+  const auth = { headers: { 'Content-Type': 'application/json', Authorization: `Bearer ${token}` } };
+
+  const mine = http.get(`${BASE_URL}/api/articles/mine`, auth).json();
+  for (let i = mine.length; i < SEED_ARTICLES; i++) {
+    http.post(`${BASE_URL}/api/articles`, JSON.stringify({
+      title: `Articolo di carico ${i}`,
+      content: `Contenuto dell'articolo di carico ${i}. `.repeat(40),
+      published: true,
+    }), auth);
+  }
+
+  const ids = [];
+  const cursors = [];
+  let cursor = null;
+  for (let page = 0; page < FEED_PAGES; page++) {
+    const query = cursor ? `&cursor=${encodeURIComponent(cursor)}` : '';
+    const body = http.get(`${BASE_URL}/api/articles/public/feed?size=${PAGE_SIZE}${query}`).json();
+    body.items.forEach((item) => ids.push(item.id));
+    if (!body.nextCursor) break;
+    cursor = body.nextCursor;
+    cursors.push(cursor);
+  }
+  if (ids.length === 0 || cursors.length === 0) throw new Error('feed pubblico vuoto dopo il seed');
+  return { token, ids, cursors };
+}
+
+const cached = [
+  '/api/articles/public/feed?size=20',
+  '/api/champions',
+  '/api/meta/tier-list',
+];
+
+export default function (data) {
+  const auth = { headers: { Authorization: `Bearer ${data.token}` } };
+  const n = __ITER + __VU;
+  let res;
+  switch (n % 6) {
+    case 0:
+    case 1:
+    case 2:
+      res = http.get(BASE_URL + cached[n % 3], { tags: { path: cached[n % 3].split('?')[0] } });
+      break;
+    case 3:
+      res = http.get(`${BASE_URL}/api/articles/${data.ids[n % data.ids.length]}`,
+        Object.assign({ tags: { path: '/api/articles/{id}' } }, auth));
+      break;
+    case 4:
+      res = http.get(`${BASE_URL}/api/articles/mine`, Object.assign({ tags: { path: '/api/articles/mine' } }, auth));
+      break;
+    default:
+      res = http.get(`${BASE_URL}/api/articles/public/feed?size=${PAGE_SIZE}&cursor=${encodeURIComponent(data.cursors[n % data.cursors.length])}`,
+        { tags: { path: '/api/articles/public/feed?cursor' } });
+  }
+  check(res, { 'status 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,29 @@
+package valeriodifelice.HextechHub.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Configurazione delle cache: backend (caffeine in processo o redis) e limiti per cache.
+ * Con Redis la dimensione massima non si applica: l'evizione è affidata a maxmemory-policy del server.
+ */
+@ConfigurationProperties(prefix = "app.cache")
+public record AppCacheProperties(
+        @DefaultValue("caffeine") String type,
+        @DefaultValue("hextechhub:") String keyPrefix,
+        Map<String, Spec> specs) {
+
+    public AppCacheProperties {
+        specs = specs == null ? Map.of() : Map.copyOf(specs);
+    }
+
+    public Spec spec(String cacheName) {
+        return specs.getOrDefault(cacheName, new Spec(1000, Duration.ofMinutes(10)));
+    }
+
+    public record Spec(@DefaultValue("1000") long maxSize, @DefaultValue("10m") Duration ttl) {
+    }
+}
@@ -2,27 +2,37 @@ package valeriodifelice.HextechHub.config;
 
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import valeriodifelice.HextechHub.security.BoundedPasswordEncoder;
+import valeriodifelice.HextechHub.service.PasswordHashingService;
+
 /**
  * Bean di utilità condivisi
  */
 @Configuration
 @EnableCaching
 @EnableAsync
+@EnableScheduling
 public class BeansConfig {
 
+    /**
+     * BCrypt eseguito sull'esecutore limitato di PasswordHashingService, fuori dai thread di Tomcat.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingService passwordHashingService,
+                                           @Value("${security.bcrypt.strength:10}") int strength) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), passwordHashingService);
     }
 
     /**
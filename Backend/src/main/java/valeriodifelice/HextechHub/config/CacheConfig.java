@@ -0,0 +1,89 @@
+package valeriodifelice.HextechHub.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.CompositeCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.BatchStrategies;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CacheManager delle cache nominate (CacheNames), con dimensione e TTL per cache e statistiche
+ * esposte come metriche cache.gets / cache.puts / cache.evictions dall'actuator.
+ * app.cache.type sceglie tra Caffeine in processo (predefinito) e Redis condiviso tra istanze;
+ * le cache di CacheNames.LOCAL_ONLY restano comunque in processo.
+ */
+@Configuration
+@EnableConfigurationProperties(AppCacheProperties.class)
+public class CacheConfig {
+    private static final Logger log = LoggerFactory.getLogger(CacheConfig.class);
+
+    @Bean
+    public CacheManager cacheManager(AppCacheProperties properties,
+                                     ObjectProvider<RedisConnectionFactory> redisConnectionFactory) {
+        String type = properties.type();
+        log.info("Backend cache: {}", type);
+        return switch (type) {
+            case "caffeine" -> caffeineCacheManager(properties, CacheNames.ALL);
+            case "redis" -> {
+                List<String> shared = CacheNames.ALL.stream().filter(name -> !CacheNames.LOCAL_ONLY.contains(name)).toList();
+                CompositeCacheManager composite = new CompositeCacheManager(
+                        redisCacheManager(properties, shared, redisConnectionFactory.getObject()),
+                        caffeineCacheManager(properties, CacheNames.LOCAL_ONLY));
+                composite.setFallbackToNoOpCache(false);
+                yield composite;
+            }
+            default -> throw new IllegalStateException("app.cache.type non valido: " + type + " (caffeine o redis)");
+        };
+    }
+
+    private static CacheManager caffeineCacheManager(AppCacheProperties properties, List<String> names) {
+        CaffeineCacheManager manager = new CaffeineCacheManager();
+        // Nessuna cache creata al volo: solo quelle nominate, ciascuna con i propri limiti
+        manager.setCacheNames(List.of());
+        manager.setAllowNullValues(false);
+        for (String name : names) {
+            AppCacheProperties.Spec spec = properties.spec(name);
+            manager.registerCustomCache(name, Caffeine.newBuilder()
+                    .maximumSize(spec.maxSize())
+                    .expireAfterWrite(spec.ttl())
+                    .recordStats()
+                    .build());
+        }
+        return manager;
+    }
+
+    private static CacheManager redisCacheManager(AppCacheProperties properties, List<String> names,
+                                                  RedisConnectionFactory connectionFactory) {
+        Map<String, RedisCacheConfiguration> configurations = new HashMap<>();
+        for (String name : names) {
+            configurations.put(name, RedisCacheConfiguration.defaultCacheConfig()
+                    .entryTtl(properties.spec(name).ttl())
+                    .prefixCacheNameWith(properties.keyPrefix())
+                    .disableCachingNullValues());
+        }
+        // SCAN invece di KEYS per svuotare una cache senza bloccare il server
+        RedisCacheManager manager = RedisCacheManager.builder(
+                        RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory, BatchStrategies.scan(1000)))
+                .withInitialCacheConfigurations(configurations)
+                .disableCreateOnMissingCache()
+                .enableStatistics()
+                .build();
+        // Non è un bean (è dentro il CompositeCacheManager): le cache iniziali vanno create qui
+        manager.afterPropertiesSet();
+        return manager;
+    }
+}
@@ -0,0 +1,24 @@
+package valeriodifelice.HextechHub.config;
+
+import java.util.List;
+
+/** Nomi delle cache gestite dal CacheManager, ciascuna con limiti propri in app.cache.specs */
+public final class CacheNames {
+
+    // Payload serializzati della lista campioni e dei campioni per ruolo
+    public static final String CHAMPIONS = "champions";
+    // Payload serializzati delle tier list
+    public static final String TIER_LISTS = "tier-lists";
+    // Payload serializzati di lista pubblica e prima pagina del feed articoli
+    public static final String ARTICLE_SUMMARIES = "article-summaries";
+    // Dati di autenticazione per UserDetailsServiceImpl (security.user-cache.enabled)
+    public static final String USERS = "users";
+
+    public static final List<String> ALL = List.of(CHAMPIONS, TIER_LISTS, ARTICLE_SUMMARIES, USERS);
+
+    // Sempre in processo anche con app.cache.type=redis: contengono hash delle password
+    public static final List<String> LOCAL_ONLY = List.of(USERS);
+
+    private CacheNames() {
+    }
+}
@@ -0,0 +1,64 @@
+package valeriodifelice.HextechHub.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Regolazione del pool JDBC e log delle query lente, attivabili da configurazione (vedi application-prod.properties).
+ * app.datasource.pool.auto-size dimensiona Hikari dai core (core * 2 + dischi, formula di HikariCP),
+ * a meno che spring.datasource.hikari.maximum-pool-size sia impostato esplicitamente.
+ * app.datasource.slow-query.enabled avvolge il DataSource con datasource-proxy (SlowQueryLogListener).
+ */
+@Configuration
+public class DataSourceConfig {
+    private static final Logger log = LoggerFactory.getLogger(DataSourceConfig.class);
+
+    private static final String MAXIMUM_POOL_SIZE = "spring.datasource.hikari.maximum-pool-size";
+
+    // static: il post-processor va creato prima degli altri bean, senza istanziare questa configurazione
+    @Bean
+    public static BeanPostProcessor dataSourceTuning(Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource)) return bean;
+                if (bean instanceof HikariDataSource hikari) {
+                    autoSize(hikari, environment);
+                }
+                if (!environment.getProperty("app.datasource.slow-query.enabled", Boolean.class, false)) {
+                    return bean;
+                }
+                long thresholdMs = environment.getProperty("app.datasource.slow-query.threshold-ms", Long.class, 500L);
+                boolean logParameters = environment.getProperty("app.datasource.slow-query.log-parameters", Boolean.class, false);
+                log.info("Log query lente attivo: soglia {} ms, parametri {}", thresholdMs, logParameters ? "inclusi" : "esclusi");
+                return ProxyDataSourceBuilder.create(beanName, dataSource)
+                        .listener(new SlowQueryLogListener(thresholdMs, logParameters, meterRegistry))
+                        .build();
+            }
+        };
+    }
+
+    private static void autoSize(HikariDataSource hikari, Environment environment) {
+        if (!environment.getProperty("app.datasource.pool.auto-size", Boolean.class, false)
+                || environment.containsProperty(MAXIMUM_POOL_SIZE)) {
+            return;
+        }
+        int cores = Runtime.getRuntime().availableProcessors();
+        int spindles = environment.getProperty("app.datasource.pool.spindles", Integer.class, 1);
+        int maxSize = environment.getProperty("app.datasource.pool.max-size", Integer.class, 64);
+        int size = Math.max(2, Math.min(maxSize, cores * 2 + spindles));
+        // minimum-idle non impostato: Hikari lo allinea al massimo (pool a dimensione fissa)
+        hikari.setMaximumPoolSize(size);
+        log.info("Pool JDBC dimensionato dai core: {} core, {} connessioni", cores, size);
+    }
+}
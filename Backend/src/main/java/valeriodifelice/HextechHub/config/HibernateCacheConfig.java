@@ -0,0 +1,72 @@
+package valeriodifelice.HextechHub.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Cache di secondo livello Hibernate su JCache/Caffeine, in processo anche con app.cache.type=redis.
+ * Le regioni sono create qui con dimensione e TTL da app.cache.specs; una regione mancante fa fallire l'avvio.
+ * Con hibernate.generate_statistics le statistiche per regione sono esportate come metriche hibernate.*
+ * dall'autoconfigurazione di Spring Boot, che registra già l'EntityManagerFactory.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String CHAMPION_ENTITIES = "champion-entities";
+    public static final String USER_ENTITIES = "user-entities";
+    public static final String CHAMPIONS_BY_ROLE = "champions-by-role";
+    public static final String USERS_BY_EMAIL = "users-by-email";
+
+    public static final List<String> REGIONS = List.of(CHAMPION_ENTITIES, USER_ENTITIES, CHAMPIONS_BY_ROLE, USERS_BY_EMAIL);
+
+    // Ultima modifica per tabella: poche voci, non devono scadere prima dei risultati di query che validano
+    private static final long UPDATE_TIMESTAMPS_MAX_SIZE = 10_000;
+
+    /** CacheManager dedicato a ogni contesto: due contesti nello stesso processo non condividono le regioni */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(AppCacheProperties properties) {
+        CacheManager manager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hextechhub:hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+        for (String region : REGIONS) {
+            AppCacheProperties.Spec spec = properties.spec(region);
+            manager.createCache(region, configuration(spec.maxSize(), OptionalLong.of(spec.ttl().toNanos())));
+        }
+        AppCacheProperties.Spec queries = properties.spec(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+        manager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                configuration(queries.maxSize(), OptionalLong.of(queries.ttl().toNanos())));
+        manager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                configuration(UPDATE_TIMESTAMPS_MAX_SIZE, OptionalLong.empty()));
+        return manager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateSecondLevelCache(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> configuration(long maxSize, OptionalLong expireAfterWriteNanos) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(expireAfterWriteNanos);
+        // Hibernate salva già uno stato disassemblato e immutabile: nessuna copia per serializzazione
+        configuration.setStoreByValue(false);
+        return configuration;
+    }
+}
@@ -0,0 +1,24 @@
+package valeriodifelice.HextechHub.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metriche applicative esposte su /actuator/prometheus. Oltre a quelle automatiche
+ * (http.server.requests per endpoint, spring.data.repository.invocations, cache.*, hikaricp.*, hibernate.*)
+ * i servizi annotati con @Timed registrano la durata dei metodi in hextechhub.service (tag class e method).
+ * Istogrammi e percentili sono configurati in application.properties (management.metrics.distribution.*).
+ */
+@Configuration
+public class MetricsConfig {
+
+    public static final String SERVICE_TIMER = "hextechhub.service";
+
+    /** Abilita @Timed sui bean di servizio */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,65 @@
+package valeriodifelice.HextechHub.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import valeriodifelice.HextechHub.repository.ArticleRepository;
+import valeriodifelice.HextechHub.service.ArticleSearchIndex;
+import valeriodifelice.HextechHub.service.InMemoryArticleSearchIndex;
+import valeriodifelice.HextechHub.service.PostgresArticleSearchIndex;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Scelta del motore di ricerca articoli: tsvector/GIN su PostgreSQL, indice in memoria negli altri casi (H2, test).
+ */
+@Configuration
+public class SearchConfig {
+    private static final Logger log = LoggerFactory.getLogger(SearchConfig.class);
+
+    @Bean
+    public ArticleSearchIndex articleSearchIndex(@Value("${articles.search.engine:auto}") String engine,
+                                                 @Value("${articles.search.ts-config:simple}") String tsConfig,
+                                                 @Value("${articles.search.batch-size:500}") int batchSize,
+                                                 @Value("${articles.search.max-content-chars:100000}") int maxContentChars,
+                                                 DataSource dataSource,
+                                                 NamedParameterJdbcTemplate jdbc,
+                                                 ArticleRepository articleRepository,
+                                                 PlatformTransactionManager transactionManager) {
+        // Transazione propria: gli aggiornamenti arrivano dopo il commit della scrittura originale
+        TransactionTemplate ownTransaction = new TransactionTemplate(transactionManager);
+        ownTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        boolean postgres = switch (engine) {
+            case "postgres" -> true;
+            case "memory" -> false;
+            default -> isPostgres(dataSource);
+        };
+        log.info("Motore di ricerca articoli: {}", postgres ? "postgres" : "memory");
+        if (postgres) {
+            PostgresArticleSearchIndex index =
+                    new PostgresArticleSearchIndex(jdbc, articleRepository, ownTransaction, tsConfig, batchSize, maxContentChars);
+            // Schema pronto prima che l'applicazione accetti richieste; il calcolo dei vettori resta asincrono
+            index.createSchema();
+            return index;
+        }
+        ownTransaction.setReadOnly(true);
+        return new InMemoryArticleSearchIndex(articleRepository, ownTransaction);
+    }
+
+    private static boolean isPostgres(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            return "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+        } catch (SQLException e) {
+            throw new IllegalStateException("Impossibile determinare il database per la ricerca", e);
+        }
+    }
+}
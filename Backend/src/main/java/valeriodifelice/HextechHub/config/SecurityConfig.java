@@ -46,6 +46,10 @@ public class SecurityConfig {
                         .requestMatchers("/api/articles/public/**").permitAll()
                         .requestMatchers("/api/champions/**").permitAll()
                         .requestMatchers("/api/meta/**").permitAll()
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        // Health e scrape Prometheus aperti, il resto di actuator solo per ADMIN
+                        .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         .anyRequest().authenticated()
                 )
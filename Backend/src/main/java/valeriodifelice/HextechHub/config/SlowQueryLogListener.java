@@ -0,0 +1,52 @@
+package valeriodifelice.HextechHub.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.logging.DefaultQueryLogEntryCreator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Registra le istruzioni JDBC (JPA e JdbcTemplate) più lente della soglia, con i parametri se abilitati.
+ * Logger dedicato "HextechHub.slow-query", regolabile con logging.level senza toccare il codice.
+ */
+public class SlowQueryLogListener implements QueryExecutionListener {
+    private static final Logger log = LoggerFactory.getLogger("HextechHub.slow-query");
+
+    private final long thresholdMs;
+    private final boolean logParameters;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final DefaultQueryLogEntryCreator entryCreator = new DefaultQueryLogEntryCreator();
+
+    public SlowQueryLogListener(long thresholdMs, boolean logParameters, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.thresholdMs = thresholdMs;
+        this.logParameters = logParameters;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (execInfo.getElapsedTime() < thresholdMs) return;
+        // Registry risolto alla prima query lenta: il DataSource nasce prima dei bean delle metriche
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            registry.counter("jdbc.slow.queries").increment();
+        }
+        if (!log.isWarnEnabled()) return;
+        String entry = logParameters
+                ? entryCreator.getLogEntry(execInfo, queryInfoList, false, false, false)
+                : "Time:" + execInfo.getElapsedTime() + ", Batch:" + (execInfo.getBatchSize() > 0) +
+                  ", Query:[" + queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; ")) + "]";
+        log.warn("Query lenta (soglia {} ms): {}", thresholdMs, entry);
+    }
+}
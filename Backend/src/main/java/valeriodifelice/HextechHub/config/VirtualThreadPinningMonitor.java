@@ -0,0 +1,67 @@
+package valeriodifelice.HextechHub.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Rileva i virtual thread "pinned" al carrier (blocchi synchronized, chiamate native, driver JDBC)
+ * tramite l'evento JFR jdk.VirtualThreadPinned: logga lo stack e incrementa un contatore.
+ */
+@Component
+@ConditionalOnProperty(name = "app.virtual-threads.pinning-detection", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final int STACK_DEPTH = 8;
+
+    private final Counter pinnedCounter;
+    private final Duration threshold;
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${app.virtual-threads.pinning-threshold-ms:20}") long thresholdMs) {
+        this.pinnedCounter = Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual thread bloccati sul carrier oltre la soglia")
+                .register(meterRegistry);
+        this.threshold = Duration.ofMillis(thresholdMs);
+    }
+
+    @PostConstruct
+    void start() {
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(threshold).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::onPinned);
+        stream.startAsync();
+        log.info("Rilevamento pinning dei virtual thread attivo (soglia {} ms)", threshold.toMillis());
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedCounter.increment();
+        String frames = "";
+        if (event.getStackTrace() != null) {
+            List<RecordedFrame> top = event.getStackTrace().getFrames().stream().limit(STACK_DEPTH).toList();
+            frames = top.stream()
+                    .map(f -> f.getMethod().getType().getName() + "." + f.getMethod().getName() + ":" + f.getLineNumber())
+                    .collect(Collectors.joining("\n\tat ", "\n\tat ", ""));
+        }
+        log.warn("Virtual thread pinned per {} ms{}", event.getDuration().toMillis(), frames);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (stream != null) stream.close();
+    }
+}
@@ -0,0 +1,77 @@
+package valeriodifelice.HextechHub.controller;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import valeriodifelice.HextechHub.dto.ChampionIngestResultDto;
+import valeriodifelice.HextechHub.service.ChampionHistoryService;
+import valeriodifelice.HextechHub.service.ChampionIngestService;
+import valeriodifelice.HextechHub.service.ChampionService;
+import valeriodifelice.HextechHub.service.ChampionStatsMigration;
+import valeriodifelice.HextechHub.service.ChampionStatsSnapshot;
+
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+/** Endpoint di amministrazione riservati al ruolo ADMIN */
+@RestController
+@RequestMapping("/api/admin")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminController {
+    private final ChampionService championService;
+    private final ChampionStatsMigration championStatsMigration;
+    private final ChampionIngestService championIngestService;
+
+    public AdminController(ChampionService championService, ChampionStatsMigration championStatsMigration,
+                           ChampionIngestService championIngestService) {
+        this.championService = championService;
+        this.championStatsMigration = championStatsMigration;
+        this.championIngestService = championIngestService;
+    }
+
+    @PostMapping("/champions/refresh")
+    public ResponseEntity<Map<String, Object>> refreshChampions() {
+        ChampionStatsSnapshot snapshot = championService.refresh();
+        return ResponseEntity.ok(Map.of(
+                "version", snapshot.version(),
+                "champions", snapshot.size(),
+                "loadedAt", snapshot.loadedAt()));
+    }
+
+    @PostMapping("/champions/migrate-stats")
+    public ResponseEntity<Map<String, Object>> migrateChampionStats() {
+        int migrated = championStatsMigration.migrateAll();
+        return ResponseEntity.ok(Map.of("migrated", migrated));
+    }
+
+    /**
+     * Import massivo delle statistiche di una patch (array JSON o text/csv) per una regione (predefinita GLOBAL);
+     * replace=true rimuove i campioni della regione assenti.
+     * Con patch le righe sono registrate nello storico come rilevazione del giorno date (predefinito oggi, UTC).
+     */
+    @PostMapping(value = "/champions/ingest", consumes = {MediaType.APPLICATION_JSON_VALUE, "text/csv"})
+    public ResponseEntity<ChampionIngestResultDto> ingestChampions(
+            InputStream body,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @RequestParam(defaultValue = "false") boolean replace,
+            @RequestParam(required = false) String region,
+            @RequestParam(required = false) String patch,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        ChampionIngestService.Format format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_JSON)
+                ? ChampionIngestService.Format.JSON
+                : ChampionIngestService.Format.CSV;
+        String historyPatch = patch == null || patch.isBlank() ? null : ChampionHistoryService.requirePatch(patch);
+        LocalDate day = date != null ? date : LocalDate.now(ZoneOffset.UTC);
+        return ResponseEntity.ok(championIngestService.ingest(body, format, replace,
+                ChampionService.regionKey(region), historyPatch, day));
+    }
+}
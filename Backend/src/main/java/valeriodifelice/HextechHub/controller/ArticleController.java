@@ -1,6 +1,9 @@
 package valeriodifelice.HextechHub.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.CacheControl;
 import org.springframework.security.core.Authentication;
@@ -8,10 +11,22 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import valeriodifelice.HextechHub.config.CacheNames;
 import valeriodifelice.HextechHub.dto.ArticleDto;
 import valeriodifelice.HextechHub.dto.ArticleRequest;
+import valeriodifelice.HextechHub.dto.ArticleSearchPageDto;
+import valeriodifelice.HextechHub.dto.ArticleSummaryDto;
+import valeriodifelice.HextechHub.service.ArticleLiveFeed;
+import valeriodifelice.HextechHub.service.ArticleSearchService;
 import valeriodifelice.HextechHub.service.ArticleService;
+import valeriodifelice.HextechHub.service.SerializedResponseCache;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 /** Endpoint CRUD per articoli con controllo ruoli */
@@ -19,21 +34,92 @@ import java.util.List;
 @RequestMapping("/api/articles")
 public class ArticleController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final ArticleService articleService;
+    private final ObjectMapper objectMapper;
+    private final SerializedResponseCache responseCache;
+    private final ArticleSearchService articleSearchService;
+    private final ArticleLiveFeed articleLiveFeed;
 
-    public ArticleController(ArticleService articleService) {
+    public ArticleController(ArticleService articleService, ObjectMapper objectMapper,
+                             SerializedResponseCache responseCache, ArticleSearchService articleSearchService,
+                             ArticleLiveFeed articleLiveFeed) {
         this.articleService = articleService;
+        this.objectMapper = objectMapper;
+        this.responseCache = responseCache;
+        this.articleSearchService = articleSearchService;
+        this.articleLiveFeed = articleLiveFeed;
     }
 
     @GetMapping("/public")
-    public ResponseEntity<List<ArticleDto>> listPublic() {
+    public ResponseEntity<?> listPublic(@RequestParam(required = false) List<String> category,
+                                        @RequestParam(defaultValue = "any") String match,
+                                        WebRequest request) {
+        String etag = articleService.getPublicVersionTag();
+        if (category != null && !category.isEmpty()) {
+            // Filtro per categorie: ?category=a,b (oppure ripetuto) con match=any (OR) o match=all (AND)
+            boolean matchAll = parseMatch(match);
+            return ConditionalGet.respond(request, etag,
+                    () -> articleService.getPublicArticlesByCategories(category, matchAll));
+        }
+        return ConditionalGet.respondCached(request, etag, () -> responseCache.get(
+                CacheNames.ARTICLE_SUMMARIES, "public", etag, articleService::getPublicArticles));
+    }
+
+    @GetMapping("/public/feed")
+    public ResponseEntity<?> feed(@RequestParam(required = false) String cursor,
+                                  @RequestParam(required = false) Integer size,
+                                  WebRequest request) {
+        // L'ETag è per URL: lo stesso marcatore vale per ogni combinazione di cursore e dimensione
+        String etag = articleService.getPublicVersionTag();
+        if (cursor == null || cursor.isBlank()) {
+            // Solo la prima pagina è abbastanza richiesta da valere la cache dei byte; chiave sulla dimensione effettiva
+            int pageSize = articleService.feedPageSize(size);
+            return ConditionalGet.respondCached(request, etag, () -> responseCache.get(
+                    CacheNames.ARTICLE_SUMMARIES, "feed:" + pageSize, etag, () -> articleService.getPublicFeed(null, pageSize)));
+        }
+        return ConditionalGet.respond(request, etag, () -> articleService.getPublicFeed(cursor, size));
+    }
+
+    /** Ricerca full-text ordinata per rilevanza su titolo, riassunto e contenuto */
+    @GetMapping("/public/search")
+    public ResponseEntity<ArticleSearchPageDto> search(@RequestParam String q,
+                                                       @RequestParam(required = false) Integer page,
+                                                       @RequestParam(required = false) Integer size,
+                                                       WebRequest request) {
+        return ConditionalGet.respond(request, articleService.getPublicVersionTag(),
+                () -> articleSearchService.search(q, page, size));
+    }
+
+    /** Feed completo in NDJSON: una riga JSON per articolo, scritta man mano che viene letta */
+    @GetMapping(value = "/public/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> stream() {
+        StreamingResponseBody body = out -> articleService.streamPublicArticles(dto -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(dto));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
         return ResponseEntity.ok()
+                .contentType(NDJSON)
                 .cacheControl(CacheControl.noCache())
-                .body(articleService.getPublicArticles());
+                .body(body);
+    }
+
+    /**
+     * Feed live (Server-Sent Events): eventi article (sintesi) e removed (id) a ogni scrittura.
+     * Alla riconnessione il browser invia Last-Event-ID e riceve gli eventi persi; reset indica di ricaricare la lista.
+     */
+    @GetMapping(value = "/public/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter live(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return articleLiveFeed.subscribe(lastEventId);
     }
 
     @GetMapping("/mine")
-    public ResponseEntity<List<ArticleDto>> listMine(@AuthenticationPrincipal UserDetails user) {
+    public ResponseEntity<List<ArticleSummaryDto>> listMine(@AuthenticationPrincipal UserDetails user) {
         return ResponseEntity.ok(articleService.getMyArticles(user.getUsername()));
     }
 
@@ -69,4 +155,10 @@ public class ArticleController {
         articleService.delete(id, email, isAdmin);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    private static boolean parseMatch(String match) {
+        if ("all".equalsIgnoreCase(match)) return true;
+        if ("any".equalsIgnoreCase(match)) return false;
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Parametro match non valido: usare any oppure all");
+    }
+}
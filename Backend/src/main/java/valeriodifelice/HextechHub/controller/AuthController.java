@@ -16,6 +16,7 @@ import jakarta.validation.Valid;
 import valeriodifelice.HextechHub.dto.AuthResponse;
 import valeriodifelice.HextechHub.dto.LoginRequest;
 import valeriodifelice.HextechHub.dto.SignupRequest;
+import valeriodifelice.HextechHub.exception.TooManyRequestsException;
 import valeriodifelice.HextechHub.model.Role;
 import valeriodifelice.HextechHub.model.User;
 import valeriodifelice.HextechHub.repository.UserRepository;
@@ -74,6 +75,10 @@ public class AuthController {
             String token = jwtService.generateToken(email, Map.of("role", role));
             return ResponseEntity.ok(new AuthResponse(token));
         } catch (org.springframework.security.core.AuthenticationException ex) {
+            // Per utenti inesistenti il provider esegue comunque BCrypt e avvolge il rifiuto per saturazione
+            if (ex.getCause() instanceof TooManyRequestsException tooManyRequests) {
+                throw tooManyRequests;
+            }
             return ResponseEntity.status(org.springframework.http.HttpStatus.UNAUTHORIZED)
                     .body(Map.of("message", "Credenziali non valide"));
         }
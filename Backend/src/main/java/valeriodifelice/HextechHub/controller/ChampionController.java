@@ -2,8 +2,13 @@ package valeriodifelice.HextechHub.controller;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import valeriodifelice.HextechHub.config.CacheNames;
 import valeriodifelice.HextechHub.dto.ChampionDto;
+import valeriodifelice.HextechHub.dto.ChampionTrendPointDto;
+import valeriodifelice.HextechHub.service.ChampionHistoryService;
 import valeriodifelice.HextechHub.service.ChampionService;
+import valeriodifelice.HextechHub.service.SerializedResponseCache;
 
 import java.util.List;
 
@@ -11,23 +16,49 @@ import java.util.List;
 @RequestMapping("/api/champions")
 public class ChampionController {
     private final ChampionService championService;
+    private final SerializedResponseCache responseCache;
+    private final ChampionHistoryService historyService;
 
-    public ChampionController(ChampionService championService) {
+    public ChampionController(ChampionService championService, SerializedResponseCache responseCache,
+                              ChampionHistoryService historyService) {
         this.championService = championService;
+        this.responseCache = responseCache;
+        this.historyService = historyService;
     }
 
     @GetMapping
-    public ResponseEntity<List<ChampionDto>> list() {
-        return ResponseEntity.ok(championService.getAll());
+    public ResponseEntity<byte[]> list(@RequestParam(required = false) String region, WebRequest request) {
+        String regionKey = ChampionService.regionKey(region);
+        String etag = versionTag();
+        return ConditionalGet.respondCached(request, etag, () -> responseCache.get(
+                CacheNames.CHAMPIONS, regionKey + ":all", etag, () -> championService.getAll(regionKey)));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ChampionDto> get(@PathVariable Long id) {
-        return ResponseEntity.ok(championService.getById(id));
+    public ResponseEntity<ChampionDto> get(@PathVariable Long id, WebRequest request) {
+        return ConditionalGet.respond(request, versionTag(), () -> championService.getById(id));
     }
 
     @GetMapping("/role/{role}")
-    public ResponseEntity<List<ChampionDto>> byRole(@PathVariable String role) {
-        return ResponseEntity.ok(championService.getByRole(role));
+    public ResponseEntity<byte[]> byRole(@PathVariable String role, @RequestParam(required = false) String region,
+                                         WebRequest request) {
+        String regionKey = ChampionService.regionKey(region);
+        String etag = versionTag();
+        return ConditionalGet.respondCached(request, etag, () -> responseCache.get(
+                CacheNames.CHAMPIONS, regionKey + ":role:" + championService.getSnapshot(regionKey).roleVariant(role), etag,
+                () -> championService.getByRole(role, regionKey)));
     }
-}
\ No newline at end of file
+
+    /** Andamento per patch di un campione nella regione (globale se assente), dagli aggregati storici */
+    @GetMapping("/trend")
+    public ResponseEntity<List<ChampionTrendPointDto>> trend(@RequestParam String name,
+                                                             @RequestParam(required = false) String role,
+                                                             @RequestParam(required = false) String region) {
+        return ResponseEntity.ok(historyService.trend(name, role, ChampionService.regionKey(region)));
+    }
+
+    // Tutte le letture passano dagli snapshot in memoria, aggiornati insieme: la versione identifica il contenuto
+    private String versionTag() {
+        return "champions-" + championService.getSnapshot().version();
+    }
+}
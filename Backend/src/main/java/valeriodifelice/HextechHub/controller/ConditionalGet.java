@@ -0,0 +1,75 @@
+package valeriodifelice.HextechHub.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+import valeriodifelice.HextechHub.service.CachedResponse;
+
+import java.util.function.Supplier;
+
+/** GET condizionali: con If-None-Match corrispondente risponde 304 prima di calcolare o serializzare il payload */
+final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    /**
+     * Il tag va letto prima del payload: se i dati cambiano nel mezzo il client riceve un tag
+     * più vecchio del contenuto e alla richiesta successiva scarica di nuovo, mai il contrario.
+     */
+    static <T> ResponseEntity<T> respond(WebRequest request, String etag, Supplier<T> body) {
+        if (request.checkNotModified(etag)) {
+            return notModified(etag);
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(body.get());
+    }
+
+    /** Come respond, ma scrive direttamente i byte già serializzati (gzip se accettato dal client) */
+    static ResponseEntity<byte[]> respondCached(WebRequest request, String etag, Supplier<CachedResponse> payload) {
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        // ETag forte distinto per rappresentazione compressa e non compressa
+        String tag = gzip ? etag + "-gzip" : etag;
+        if (request.checkNotModified(tag)) {
+            return notModified(tag);
+        }
+        CachedResponse cached = payload.get();
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok()
+                .eTag(tag)
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            ok.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return ok.body(gzip ? cached.gzip() : cached.json());
+    }
+
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .build();
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim();
+            if (!coding.equalsIgnoreCase("gzip") && !coding.equals("*")) continue;
+            boolean disabled = false;
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim().replace(" ", "");
+                if (param.matches("q=0(\\.0*)?")) disabled = true;
+            }
+            if (!disabled) return true;
+        }
+        return false;
+    }
+}
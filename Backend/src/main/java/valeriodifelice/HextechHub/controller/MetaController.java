@@ -3,24 +3,52 @@ package valeriodifelice.HextechHub.controller;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import valeriodifelice.HextechHub.dto.ChampionDto;
+import org.springframework.web.context.request.WebRequest;
+import valeriodifelice.HextechHub.config.CacheNames;
+import valeriodifelice.HextechHub.dto.PatchDeltaDto;
+import valeriodifelice.HextechHub.service.ChampionHistoryService;
 import valeriodifelice.HextechHub.service.ChampionService;
+import valeriodifelice.HextechHub.service.SerializedResponseCache;
+import valeriodifelice.HextechHub.service.TierListService;
 
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/meta")
 public class MetaController {
+    private final TierListService tierListService;
     private final ChampionService championService;
+    private final SerializedResponseCache responseCache;
+    private final ChampionHistoryService historyService;
 
-    public MetaController(ChampionService championService) {
+    public MetaController(TierListService tierListService, ChampionService championService,
+                          SerializedResponseCache responseCache, ChampionHistoryService historyService) {
+        this.tierListService = tierListService;
         this.championService = championService;
+        this.responseCache = responseCache;
+        this.historyService = historyService;
     }
 
     @GetMapping("/tier-list")
-    public ResponseEntity<List<ChampionDto>> tierList() {
-        return ResponseEntity.ok(championService.getAll());
+    public ResponseEntity<byte[]> tierList(@RequestParam(required = false) String role,
+                                           @RequestParam(required = false) String region, WebRequest request) {
+        String regionKey = ChampionService.regionKey(region);
+        // La tier list dipende solo dagli snapshot dei campioni
+        String etag = "tiers-" + championService.getSnapshot().version();
+        String variant = regionKey + ":tiers:"
+                + (role == null || role.isBlank() ? "all" : championService.getSnapshot(regionKey).roleVariant(role));
+        return ConditionalGet.respondCached(request, etag, () -> responseCache.get(
+                CacheNames.TIER_LISTS, variant, etag, () -> tierListService.getTierList(role, regionKey)));
     }
-}
 
+    /** Variazioni tra due patch (predefinite: le due più recenti) nella regione, dagli aggregati storici */
+    @GetMapping("/patch-deltas")
+    public ResponseEntity<List<PatchDeltaDto>> patchDeltas(@RequestParam(required = false) String from,
+                                                           @RequestParam(required = false) String to,
+                                                           @RequestParam(required = false) String role,
+                                                           @RequestParam(required = false) String region) {
+        return ResponseEntity.ok(historyService.deltas(from, to, role, ChampionService.regionKey(region)));
+    }
+}
@@ -0,0 +1,16 @@
+package valeriodifelice.HextechHub.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/** Pagina del feed pubblico con cursore keyset per la pagina successiva */
+@Data
+@Builder
+public class ArticlePageDto {
+    private List<ArticleSummaryDto> items;
+    // Cursore opaco da passare alla richiesta successiva, null se non ci sono altre pagine
+    private String nextCursor;
+    private boolean hasMore;
+}
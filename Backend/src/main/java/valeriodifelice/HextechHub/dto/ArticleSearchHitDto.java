@@ -0,0 +1,14 @@
+package valeriodifelice.HextechHub.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/** Risultato di ricerca: sintesi dell'articolo, punteggio di rilevanza e frammento evidenziato */
+@Data
+@Builder
+public class ArticleSearchHitDto {
+    private ArticleSummaryDto article;
+    private double score;
+    // HTML già escapato, con i termini trovati racchiusi in <mark>
+    private String snippet;
+}
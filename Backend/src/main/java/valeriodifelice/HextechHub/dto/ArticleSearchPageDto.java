@@ -0,0 +1,16 @@
+package valeriodifelice.HextechHub.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/** Pagina di risultati di ricerca ordinati per rilevanza */
+@Data
+@Builder
+public class ArticleSearchPageDto {
+    private List<ArticleSearchHitDto> items;
+    private long total;
+    private int page;
+    private int size;
+}
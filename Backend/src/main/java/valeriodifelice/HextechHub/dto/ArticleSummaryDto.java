@@ -0,0 +1,21 @@
+package valeriodifelice.HextechHub.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+
+/** DTO sintetico per le liste di articoli (senza contenuto completo) */
+@Data
+@Builder
+public class ArticleSummaryDto {
+    private Long id;
+    private String title;
+    private String excerpt;
+    private List<String> categories;
+    private boolean published;
+    private String authorEmail;
+    private Instant createdAt;
+    private Instant updatedAt;
+}
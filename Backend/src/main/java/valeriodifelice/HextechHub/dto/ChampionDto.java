@@ -11,6 +11,7 @@ public class ChampionDto {
     private Long id;
     private String name;
     private String role;
+    private String region; // GLOBAL o una Region
     private Double winRate; // percentuale 0..100
     private Double pickRate; // percentuale 0..100
     private Double banRate; // percentuale 0..100
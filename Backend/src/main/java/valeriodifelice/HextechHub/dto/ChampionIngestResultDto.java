@@ -0,0 +1,18 @@
+package valeriodifelice.HextechHub.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/** Esito di un import massivo delle statistiche campioni */
+@Data
+@Builder
+public class ChampionIngestResultDto {
+    private int received;
+    private int upserted;
+    private int removed;
+    private int batches;
+    private long version;
+    private String region;
+    private String patch; // patch registrata nello storico, null se assente
+    private long elapsedMs;
+}
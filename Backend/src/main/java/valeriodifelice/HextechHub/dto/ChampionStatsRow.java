@@ -0,0 +1,28 @@
+package valeriodifelice.HextechHub.dto;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Riga di statistiche campione nell'import massivo, nel formato testuale del crawler */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ChampionStatsRow {
+    private String name;
+    private String role;
+
+    @JsonAlias("winrate")
+    private String winRate;
+
+    @JsonAlias("pickrate")
+    private String pickRate;
+
+    @JsonAlias("banrate")
+    private String banRate;
+
+    private String matches;
+}
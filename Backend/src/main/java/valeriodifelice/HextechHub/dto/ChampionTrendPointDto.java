@@ -0,0 +1,22 @@
+package valeriodifelice.HextechHub.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/** Punto della serie storica di un campione: valori aggregati di una patch */
+@Data
+@Builder
+public class ChampionTrendPointDto {
+    private String patch;
+    private String role;
+    private String region;
+    private LocalDate firstDay;
+    private LocalDate lastDay;
+    private int samples; // rilevazioni giornaliere aggregate
+    private double winRate; // percentuale 0..100, media pesata sulle partite
+    private double pickRate;
+    private double banRate;
+    private int matches;
+}
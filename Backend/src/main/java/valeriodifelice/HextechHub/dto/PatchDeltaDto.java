@@ -0,0 +1,22 @@
+package valeriodifelice.HextechHub.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/** Variazione delle statistiche di un campione tra due patch (valori della patch più recente e differenze) */
+@Data
+@Builder
+public class PatchDeltaDto {
+    private String name;
+    private String role;
+    private String region;
+    private String fromPatch;
+    private String toPatch;
+    private double winRate;
+    private double winRateDelta;
+    private double pickRate;
+    private double pickRateDelta;
+    private double banRate;
+    private double banRateDelta;
+    private int matches;
+}
@@ -0,0 +1,21 @@
+package valeriodifelice.HextechHub.dto;
+
+import lombok.*;
+
+/** Voce della tier list: statistiche del campione più punteggio e fascia calcolati dal server */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TierEntryDto {
+    private Long id;
+    private String name;
+    private String role;
+    private Double winRate; // percentuale 0..100
+    private Double pickRate; // percentuale 0..100
+    private Double banRate; // percentuale 0..100
+    private Integer matches; // numero partite
+    private Double score; // punteggio relativo al ruolo
+    private String tier; // S, A, B, C, D
+}
@@ -0,0 +1,8 @@
+package valeriodifelice.HextechHub.event;
+
+/**
+ * Pubblicato da ArticleService dopo creazione, modifica o cancellazione di un articolo, solo per le
+ * invalidazioni immediate sull'istanza che scrive; le altre istanze ricevono la modifica dall'outbox.
+ */
+public record ArticleChangedEvent(Long articleId) {
+}
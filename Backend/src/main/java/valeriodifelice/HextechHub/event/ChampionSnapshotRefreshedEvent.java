@@ -0,0 +1,5 @@
+package valeriodifelice.HextechHub.event;
+
+/** Pubblicato da ChampionService quando viene sostituito lo snapshot dei campioni */
+public record ChampionSnapshotRefreshedEvent(long version) {
+}
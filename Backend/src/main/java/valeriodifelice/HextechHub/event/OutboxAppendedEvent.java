@@ -0,0 +1,5 @@
+package valeriodifelice.HextechHub.event;
+
+/** Pubblicato da OutboxService a ogni evento accodato: dopo il commit risveglia il dispatcher */
+public record OutboxAppendedEvent(long outboxId) {
+}
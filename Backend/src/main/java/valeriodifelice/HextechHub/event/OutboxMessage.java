@@ -0,0 +1,10 @@
+package valeriodifelice.HextechHub.event;
+
+import java.time.Instant;
+
+/** Evento dell'outbox consegnato ai sottoscrittori, almeno una volta */
+public record OutboxMessage(long id, String type, Long aggregateId, String idempotencyKey, Instant createdAt) {
+
+    /** Creazione, modifica o cancellazione di un articolo (aggregateId = id articolo) */
+    public static final String ARTICLE_CHANGED = "article.changed";
+}
@@ -0,0 +1,21 @@
+package valeriodifelice.HextechHub.event;
+
+/**
+ * Sottoscrittore in-process degli eventi dell'outbox.
+ * La consegna è almeno una volta: handle deve tollerare ripetizioni (idempotencyKey identifica l'evento).
+ * Con stato condiviso (database) le istanze si dividono gli eventi; con stato in memoria ogni istanza li riceve tutti.
+ */
+public interface OutboxSubscriber {
+
+    /** Nome stabile, registrato sull'evento quando la consegna riesce */
+    String name();
+
+    boolean supports(String type);
+
+    void handle(OutboxMessage message);
+
+    /** true se handle aggiorna solo stato in memoria di questa istanza: l'evento va consegnato a ogni istanza */
+    default boolean perInstance() {
+        return false;
+    }
+}
@@ -0,0 +1,5 @@
+package valeriodifelice.HextechHub.event;
+
+/** Pubblicato alla modifica o cancellazione di un utente; previousEmail è l'email letta dal database */
+public record UserChangedEvent(String previousEmail, String email) {
+}
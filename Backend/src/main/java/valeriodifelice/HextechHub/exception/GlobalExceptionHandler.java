@@ -1,6 +1,7 @@
 package valeriodifelice.HextechHub.exception;
 
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -11,6 +12,7 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -53,10 +55,27 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler({BadCredentialsException.class, InternalAuthenticationServiceException.class, UsernameNotFoundException.class})
     public ResponseEntity<Map<String, Object>> handleAuthSpecific(RuntimeException ex) {
+        if (ex.getCause() instanceof TooManyRequestsException tooManyRequests) {
+            return handleTooManyRequests(tooManyRequests);
+        }
         Map<String, Object> body = Map.of("message", "Credenziali non valide");
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(body);
     }
 
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<Map<String, Object>> handleTooManyRequests(TooManyRequestsException ex) {
+        Map<String, Object> body = Map.of("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(body);
+    }
+
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<Map<String, Object>> handleStatus(ResponseStatusException ex) {
+        Map<String, Object> body = Map.of("message", String.valueOf(ex.getReason()));
+        return ResponseEntity.status(ex.getStatusCode()).headers(ex.getHeaders()).body(body);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleGeneric(Exception ex) {
         Map<String, Object> body = new HashMap<>();
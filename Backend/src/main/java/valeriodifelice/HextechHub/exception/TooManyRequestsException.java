@@ -0,0 +1,16 @@
+package valeriodifelice.HextechHub.exception;
+
+/** Richiesta rifiutata per saturazione di una risorsa: il client deve riprovare più tardi */
+public class TooManyRequestsException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -6,6 +6,8 @@ import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
 
 /** Entità articolo con visibilità basata su ruoli */
 @Getter
@@ -14,7 +16,10 @@ import java.time.Instant;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "articles")
+@Table(name = "articles", indexes = {
+        // Supporta la paginazione keyset del feed pubblico
+        @Index(name = "idx_articles_published_created", columnList = "published, created_at, id")
+})
 public class Article {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -31,10 +36,19 @@ public class Article {
     @Column
     private String excerpt;
 
-    // Tag/categorie in formato CSV (opzionali)
+    // Tag/categorie in formato CSV (opzionali): copia di categorySet usata dalle proiezioni di lista
     @Column(length = 512)
     private String categories;
 
+    // Categorie normalizzate, interrogabili tramite la tabella ponte
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(name = "article_categories",
+            joinColumns = @JoinColumn(name = "article_id"),
+            inverseJoinColumns = @JoinColumn(name = "category_id"),
+            indexes = @Index(name = "idx_article_categories_category", columnList = "category_id, article_id"))
+    @Builder.Default
+    private Set<Category> categorySet = new HashSet<>();
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id", nullable = false)
     private User author;
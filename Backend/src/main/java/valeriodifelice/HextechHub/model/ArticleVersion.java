@@ -0,0 +1,29 @@
+package valeriodifelice.HextechHub.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Contatore di versione degli articoli: una sola riga, incrementata nella transazione di ogni scrittura.
+ * Il lock sulla riga ordina gli incrementi come i commit; l'ETag delle liste pubbliche la legge per chiave.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "article_version")
+public class ArticleVersion {
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private long version;
+
+    // Istante dell'ultimo incremento: distingue le versioni anche se il contatore riparte da zero
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
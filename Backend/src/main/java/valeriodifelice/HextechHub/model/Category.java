@@ -0,0 +1,25 @@
+package valeriodifelice.HextechHub.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/** Categoria (tag) degli articoli, con nome normalizzato in minuscolo */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "categories", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_categories_name", columnNames = "name")
+})
+public class Category {
+    public static final int MAX_NAME_LENGTH = 64;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = MAX_NAME_LENGTH)
+    private String name;
+}
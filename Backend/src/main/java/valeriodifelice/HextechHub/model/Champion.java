@@ -2,6 +2,10 @@ package valeriodifelice.HextechHub.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import valeriodifelice.HextechHub.config.HibernateCacheConfig;
 
 @Getter
 @Setter
@@ -9,8 +13,19 @@ import lombok.*;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "champions")
+// Letto quasi sempre: le scritture JPA (migrazione) invalidano la voce, l'import JDBC svuota la regione
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = HibernateCacheConfig.CHAMPION_ENTITIES)
+@Table(name = "champions", uniqueConstraints = {
+        // Chiave naturale usata dall'upsert dell'import massivo
+        @UniqueConstraint(name = "uk_champions_name_role_region", columnNames = {"name", "role", "region"})
+}, indexes = {
+        @Index(name = "idx_champions_region_role", columnList = "region, role")
+})
 public class Champion {
+    // Statistiche aggregate su tutte le regioni (righe esistenti e crawler)
+    public static final String GLOBAL_REGION = "GLOBAL";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -21,6 +36,12 @@ public class Champion {
     @Column(nullable = false, length = 32)
     private String role;
 
+    // GLOBAL o il nome di una Region; mai null, così da poter far parte della chiave di upsert
+    @Column(nullable = false, length = 8)
+    @ColumnDefault("'GLOBAL'")
+    @Builder.Default
+    private String region = GLOBAL_REGION;
+
     @Column(name = "winrate", nullable = false)
     private String winRate;
 
@@ -32,4 +53,17 @@ public class Champion {
 
     @Column(name = "matches", nullable = false)
     private String matches;
+
+    // Valori numerici: null finché la riga non è stata migrata dalle colonne testuali
+    @Column(name = "win_rate_pct")
+    private Double winRatePct;
+
+    @Column(name = "pick_rate_pct")
+    private Double pickRatePct;
+
+    @Column(name = "ban_rate_pct")
+    private Double banRatePct;
+
+    @Column(name = "matches_count")
+    private Integer matchesCount;
 }
\ No newline at end of file
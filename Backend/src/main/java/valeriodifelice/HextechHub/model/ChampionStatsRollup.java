@@ -0,0 +1,70 @@
+package valeriodifelice.HextechHub.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDate;
+
+/**
+ * Aggregato per patch delle statistiche storiche di un campione, ricalcolato a ogni import della patch.
+ * I grafici di andamento leggono solo questa tabella, mai lo storico grezzo.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "champion_stats_rollup", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_champion_rollup_patch_name_role_region", columnNames = {"patch", "name", "role", "region"})
+}, indexes = {
+        @Index(name = "idx_champion_rollup_name_role_patch", columnList = "name, role, region, patch_order")
+})
+public class ChampionStatsRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 16)
+    private String patch;
+
+    // Ordinamento numerico delle patch (14.9 prima di 14.10)
+    @Column(name = "patch_order", nullable = false)
+    private int patchOrder;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false, length = 32)
+    private String role;
+
+    @Column(nullable = false, length = 8)
+    @ColumnDefault("'GLOBAL'")
+    @Builder.Default
+    private String region = Champion.GLOBAL_REGION;
+
+    // Numero di rilevazioni giornaliere aggregate
+    @Column(nullable = false)
+    private int samples;
+
+    @Column(name = "first_day", nullable = false)
+    private LocalDate firstDay;
+
+    @Column(name = "last_day", nullable = false)
+    private LocalDate lastDay;
+
+    // Media pesata sulle partite
+    @Column(name = "win_rate_pct", nullable = false)
+    private double winRatePct;
+
+    @Column(name = "pick_rate_pct", nullable = false)
+    private double pickRatePct;
+
+    @Column(name = "ban_rate_pct", nullable = false)
+    private double banRatePct;
+
+    // Massimo delle partite rilevate nella patch
+    @Column(name = "matches_count", nullable = false)
+    private int matchesCount;
+}
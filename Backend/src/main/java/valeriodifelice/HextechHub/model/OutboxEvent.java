@@ -0,0 +1,58 @@
+package valeriodifelice.HextechHub.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Evento in uscita scritto nella stessa transazione della modifica che lo genera
+ * e consegnato in seguito ai sottoscrittori da OutboxDispatcher.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "outbox_events", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_outbox_idempotency_key", columnNames = "idempotency_key")
+}, indexes = {
+        // Lettura degli eventi da consegnare in ordine di scrittura
+        @Index(name = "idx_outbox_pending", columnList = "dispatched_at, available_at, id")
+})
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String type;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    // Passata ai sottoscrittori per riconoscere le riconsegne
+    @Column(name = "idempotency_key", nullable = false, length = 64)
+    private String idempotencyKey;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    // Prossimo tentativo di consegna (posticipato dopo un errore)
+    @Column(name = "available_at", nullable = false)
+    private Instant availableAt;
+
+    @Column(name = "dispatched_at")
+    private Instant dispatchedAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    // Sottoscrittori che hanno già elaborato l'evento, separati da virgola: non lo ricevono nei nuovi tentativi
+    @Column(length = 512)
+    private String delivered;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+}
@@ -2,7 +2,11 @@ package valeriodifelice.HextechHub.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import valeriodifelice.HextechHub.config.HibernateCacheConfig;
+import valeriodifelice.HextechHub.service.UserCacheInvalidationListener;
 
 import java.time.Instant;
 
@@ -13,6 +17,9 @@ import java.time.Instant;
 @AllArgsConstructor
 @Builder
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.USER_ENTITIES)
+@EntityListeners(UserCacheInvalidationListener.class)
 @Table(name = "users", uniqueConstraints = {
         @UniqueConstraint(name = "uk_users_email", columnNames = "email")
 })
@@ -44,4 +51,22 @@ public class User {
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private Instant createdAt;
+
+    // Email com'era nel database: dopo un cambio di email va invalidata anche la vecchia chiave in cache
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private String loadedEmail;
+
+    // Eseguito dopo UserCacheInvalidationListener, che legge ancora l'email precedente
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    void rememberLoadedEmail() {
+        loadedEmail = email;
+    }
+
+    public String getLoadedEmail() {
+        return loadedEmail != null ? loadedEmail : email;
+    }
 }
\ No newline at end of file
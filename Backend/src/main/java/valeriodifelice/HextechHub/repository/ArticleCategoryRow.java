@@ -0,0 +1,7 @@
+package valeriodifelice.HextechHub.repository;
+
+/** Coppia (articolo, categoria) letta dalla tabella ponte per costruire l'indice invertito */
+public interface ArticleCategoryRow {
+    Long getArticleId();
+    String getCategory();
+}
@@ -1,14 +1,89 @@
 package valeriodifelice.HextechHub.repository;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import valeriodifelice.HextechHub.model.Article;
 
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /** Repository JPA per Article */
 @Repository
 public interface ArticleRepository extends JpaRepository<Article, Long> {
+
+    String SEARCH_SELECT = "select a.id as id, a.title as title, a.excerpt as excerpt, " +
+            "a.content as content, a.published as published from Article a ";
+
+    // Colonne della proiezione ArticleSummary: il contenuto non viene mai letto
+    String SUMMARY_SELECT = "select a.id as id, a.title as title, a.excerpt as excerpt, " +
+            "a.categories as categories, a.published as published, u.email as authorEmail, " +
+            "a.createdAt as createdAt, a.updatedAt as updatedAt " +
+            "from Article a join a.author u ";
+
+    // Varianti con fetch dell'autore in join: evitano la query N+1 su Article.author (LAZY)
+    @EntityGraph(attributePaths = "author")
     List<Article> findByPublishedTrue();
+
+    @EntityGraph(attributePaths = "author")
     List<Article> findByAuthor_Id(Long authorId);
-}
\ No newline at end of file
+
+    @EntityGraph(attributePaths = "author")
+    Optional<Article> findWithAuthorById(Long id);
+
+    @Query(SUMMARY_SELECT + "where a.published = true order by a.createdAt desc, a.id desc")
+    List<ArticleSummary> findPublishedSummaries();
+
+    @Query(SUMMARY_SELECT + "where u.email = :email order by a.createdAt desc, a.id desc")
+    List<ArticleSummary> findSummariesByAuthorEmail(@Param("email") String email);
+
+    // Prima pagina del feed pubblico, ordinata per (createdAt, id) decrescenti
+    @Query(SUMMARY_SELECT + "where a.published = true order by a.createdAt desc, a.id desc")
+    List<ArticleSummary> findPublishedFirstPage(Pageable pageable);
+
+    // Pagine successive: keyset sul cursore (createdAt, id) dell'ultimo elemento letto
+    @Query(SUMMARY_SELECT + "where a.published = true " +
+            "and (a.createdAt < :createdAt or (a.createdAt = :createdAt and a.id < :id)) " +
+            "order by a.createdAt desc, a.id desc")
+    List<ArticleSummary> findPublishedAfter(@Param("createdAt") Instant createdAt, @Param("id") Long id, Pageable pageable);
+
+    // Stream con fetch size limitato: va consumato dentro una transazione
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"))
+    @Query(SUMMARY_SELECT + "where a.published = true order by a.createdAt desc, a.id desc")
+    Stream<ArticleSummary> streamPublished();
+
+    @Query(SUMMARY_SELECT + "where a.published = true and a.id in :ids order by a.createdAt desc, a.id desc")
+    List<ArticleSummary> findPublishedSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Coppie articolo-categoria dei soli articoli pubblicati, per l'indice invertito
+    @Query("select a.id as articleId, c.name as category from Article a join a.categorySet c where a.published = true")
+    List<ArticleCategoryRow> findPublishedCategoryRows();
+
+    @Query("select a.id as articleId, c.name as category from Article a join a.categorySet c " +
+            "where a.published = true and a.id = :id")
+    List<ArticleCategoryRow> findPublishedCategoryRowsById(@Param("id") Long id);
+
+    // Articoli con categorie CSV non ancora copiate nella tabella ponte
+    @Query("select a from Article a where a.id > :after and a.categories is not null " +
+            "and a.categorySet is empty order by a.id")
+    List<Article> findCategoriesToBackfill(@Param("after") Long after, Pageable pageable);
+
+    @Query(SEARCH_SELECT + "where a.id = :id")
+    Optional<ArticleSearchRow> findSearchRowById(@Param("id") Long id);
+
+    @Query(SEARCH_SELECT + "where a.published = true and a.id in :ids")
+    List<ArticleSearchRow> findPublishedSearchRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"))
+    @Query(SEARCH_SELECT + "where a.published = true order by a.id")
+    Stream<ArticleSearchRow> streamPublishedSearchRows();
+}
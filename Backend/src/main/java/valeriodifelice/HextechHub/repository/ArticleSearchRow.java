@@ -0,0 +1,10 @@
+package valeriodifelice.HextechHub.repository;
+
+/** Campi testuali di un articolo usati per indicizzazione e snippet della ricerca */
+public interface ArticleSearchRow {
+    Long getId();
+    String getTitle();
+    String getExcerpt();
+    String getContent();
+    boolean isPublished();
+}
@@ -0,0 +1,16 @@
+package valeriodifelice.HextechHub.repository;
+
+import java.time.Instant;
+
+/** Proiezione leggera per le liste di articoli: esclude il contenuto (@Lob) */
+public interface ArticleSummary {
+    Long getId();
+    String getTitle();
+    String getExcerpt();
+    // Categorie in formato CSV, come salvate sull'entità
+    String getCategories();
+    boolean isPublished();
+    String getAuthorEmail();
+    Instant getCreatedAt();
+    Instant getUpdatedAt();
+}
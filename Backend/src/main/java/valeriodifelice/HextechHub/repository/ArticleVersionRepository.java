@@ -0,0 +1,19 @@
+package valeriodifelice.HextechHub.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import valeriodifelice.HextechHub.model.ArticleVersion;
+
+import java.time.Instant;
+
+@Repository
+public interface ArticleVersionRepository extends JpaRepository<ArticleVersion, Long> {
+
+    // Incremento atomico sul database: restituisce 0 se la riga non esiste ancora
+    @Modifying
+    @Query("update ArticleVersion v set v.version = v.version + 1, v.updatedAt = :now where v.id = :id")
+    int increment(@Param("id") Long id, @Param("now") Instant now);
+}
@@ -0,0 +1,14 @@
+package valeriodifelice.HextechHub.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import valeriodifelice.HextechHub.model.Category;
+
+import java.util.Collection;
+import java.util.List;
+
+/** Repository JPA per Category */
+@Repository
+public interface CategoryRepository extends JpaRepository<Category, Long> {
+    List<Category> findByNameIn(Collection<String> names);
+}
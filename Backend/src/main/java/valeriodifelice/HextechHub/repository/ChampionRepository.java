@@ -1,12 +1,30 @@
 package valeriodifelice.HextechHub.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import valeriodifelice.HextechHub.config.HibernateCacheConfig;
 import valeriodifelice.HextechHub.model.Champion;
 
 import java.util.List;
 
 @Repository
 public interface ChampionRepository extends JpaRepository<Champion, Long> {
+    // Risultato in cache di query, invalidato dalle scritture Hibernate su champions e dall'import JDBC
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.CHAMPIONS_BY_ROLE)
+    })
     List<Champion> findByRoleIgnoreCase(String role);
-}
\ No newline at end of file
+
+    // Ordinamento lato database sulle colonne numeriche; righe non ancora migrate in fondo (Postgres mette i NULL prima)
+    @Query("select c from Champion c order by c.winRatePct desc nulls last, c.id asc")
+    List<Champion> findAllOrderedByWinRate();
+
+    // Righe ancora da migrare alle colonne numeriche, a blocchi in ordine di id
+    List<Champion> findByIdGreaterThanAndWinRatePctIsNullOrderByIdAsc(Long id, Pageable pageable);
+}
@@ -0,0 +1,24 @@
+package valeriodifelice.HextechHub.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import valeriodifelice.HextechHub.model.ChampionStatsRollup;
+
+import java.util.List;
+
+@Repository
+public interface ChampionStatsRollupRepository extends JpaRepository<ChampionStatsRollup, Long> {
+    List<ChampionStatsRollup> findByNameIgnoreCaseAndRegionOrderByPatchOrderAscRoleAsc(String name, String region);
+
+    List<ChampionStatsRollup> findByNameIgnoreCaseAndRoleIgnoreCaseAndRegionOrderByPatchOrderAsc(String name, String role, String region);
+
+    List<ChampionStatsRollup> findByPatchAndRegion(String patch, String region);
+
+    // Patch presenti negli aggregati della regione, dalla più recente
+    @Query("select r.patch from ChampionStatsRollup r where r.region = :region " +
+            "group by r.patch, r.patchOrder order by r.patchOrder desc")
+    List<String> findPatchesNewestFirst(@Param("region") String region, Pageable pageable);
+}
@@ -0,0 +1,48 @@
+package valeriodifelice.HextechHub.repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import valeriodifelice.HextechHub.model.OutboxEvent;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Blocco degli eventi pronti; timeout -2 = SKIP LOCKED, così più istanze si dividono i sottoscrittori condivisi
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select e from OutboxEvent e where e.dispatchedAt is null and e.attempts < :maxAttempts " +
+            "and e.availableAt <= :now order by e.id")
+    List<OutboxEvent> lockPending(@Param("now") Instant now, @Param("maxAttempts") int maxAttempts, Pageable pageable);
+
+    // Lettura senza blocchi per i sottoscrittori in memoria: ogni istanza scorre tutti gli eventi dopo il proprio cursore
+    @Query("select e from OutboxEvent e where e.id > :after order by e.id")
+    List<OutboxEvent> findAfter(@Param("after") long after, Pageable pageable);
+
+    @Query("select coalesce(max(e.id), 0) from OutboxEvent e")
+    long findMaxId();
+
+    @Query("select count(e) from OutboxEvent e where e.dispatchedAt is null and e.attempts < :maxAttempts")
+    long countPending(@Param("maxAttempts") int maxAttempts);
+
+    @Query("select min(e.createdAt) from OutboxEvent e where e.dispatchedAt is null and e.attempts < :maxAttempts")
+    Instant findOldestPendingCreatedAt(@Param("maxAttempts") int maxAttempts);
+
+    // Eventi che hanno esaurito i tentativi e richiedono un intervento
+    @Query("select count(e) from OutboxEvent e where e.dispatchedAt is null and e.attempts >= :maxAttempts")
+    long countParked(@Param("maxAttempts") int maxAttempts);
+
+    @Modifying
+    @Query("delete from OutboxEvent e where e.dispatchedAt < :before")
+    int deleteDispatchedBefore(@Param("before") Instant before);
+}
@@ -1,7 +1,11 @@
 package valeriodifelice.HextechHub.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import valeriodifelice.HextechHub.config.HibernateCacheConfig;
 import valeriodifelice.HextechHub.model.User;
 
 import java.util.Optional;
@@ -9,6 +13,11 @@ import java.util.Optional;
 /** Repository JPA per User */
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    // Id in cache di query, entità dalla regione utenti; ogni scrittura su users invalida i risultati
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.USERS_BY_EMAIL)
+    })
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
 }
\ No newline at end of file
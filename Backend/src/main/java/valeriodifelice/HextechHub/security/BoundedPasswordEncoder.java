@@ -0,0 +1,32 @@
+package valeriodifelice.HextechHub.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import valeriodifelice.HextechHub.service.PasswordHashingService;
+
+/** PasswordEncoder BCrypt che esegue hash e verifiche sull'esecutore dedicato */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final BCryptPasswordEncoder delegate;
+    private final PasswordHashingService hashingService;
+
+    public BoundedPasswordEncoder(BCryptPasswordEncoder delegate, PasswordHashingService hashingService) {
+        this.delegate = delegate;
+        this.hashingService = hashingService;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hashingService.encode(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hashingService.matches(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -1,11 +1,14 @@
 package valeriodifelice.HextechHub.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -15,14 +18,23 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import valeriodifelice.HextechHub.service.JwtService;
 
 import java.io.IOException;
+import java.util.List;
 
-/** Filtro che valida JWT e popola SecurityContext */
+/**
+ * Filtro che valida JWT e popola SecurityContext.
+ * Di default l'utente viene caricato tramite UserDetailsService, così utenti rimossi o declassati
+ * perdono subito l'accesso. In modalità stateless (opzionale) è costruito dai claims verificati
+ * (subject e ruolo) senza interrogare il database, e i cambi di ruolo valgono dal token successivo.
+ */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
 
+    @Value("${security.jwt.stateless:false}")
+    private boolean stateless;
+
     public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
@@ -34,10 +46,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         final String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             final String token = authHeader.substring(7);
-            final String username = jwtService.extractUsername(token);
+            // Una sola verifica di firma e scadenza per richiesta (o nessuna, se il token è in cache)
+            final Claims claims = jwtService.parseValidClaims(token);
+            final String username = claims == null ? null : claims.getSubject();
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                if (jwtService.isTokenValid(token, userDetails.getUsername())) {
+                UserDetails userDetails = stateless
+                        ? fromClaims(username, claims)
+                        : userDetailsService.loadUserByUsername(username);
+                if (username.equals(userDetails.getUsername())) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails, null, userDetails.getAuthorities());
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -47,4 +63,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    private static UserDetails fromClaims(String username, Claims claims) {
+        Object role = claims.get("role");
+        String authority = "ROLE_" + (role == null ? "USER" : role.toString());
+        return new org.springframework.security.core.userdetails.User(
+                username, "", List.of(new SimpleGrantedAuthority(authority)));
+    }
 }
\ No newline at end of file
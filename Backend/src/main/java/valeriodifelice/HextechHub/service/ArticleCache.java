@@ -0,0 +1,105 @@
+package valeriodifelice.HextechHub.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import valeriodifelice.HextechHub.dto.ArticleDto;
+import valeriodifelice.HextechHub.event.ArticleChangedEvent;
+import valeriodifelice.HextechHub.event.OutboxMessage;
+import valeriodifelice.HextechHub.event.OutboxSubscriber;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Cache W-TinyLFU (Caffeine) dei soli articoli pubblicati, limitata per peso stimato in byte.
+ * Le bozze non vengono mai memorizzate, così i controlli di accesso di getById restano sul database.
+ * Le invalidazioni arrivano dall'outbox a ogni istanza; quella che scrive invalida anche subito dopo il commit.
+ */
+@Component
+public class ArticleCache implements OutboxSubscriber {
+
+    // Stima dell'occupazione fissa di DTO, date e lista categorie
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+
+    private final Cache<Long, ArticleDto> cache;
+    private final boolean enabled;
+
+    public ArticleCache(@Value("${articles.cache.enabled:true}") boolean enabled,
+                        @Value("${articles.cache.max-weight-bytes:67108864}") long maxWeightBytes,
+                        @Value("${articles.cache.expire-after-write-ms:3600000}") long expireAfterWriteMs,
+                        MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes)
+                .weigher((Long id, ArticleDto dto) -> weigh(dto))
+                // Rete di sicurezza per modifiche fatte fuori dall'applicazione
+                .expireAfterWrite(Duration.ofMillis(expireAfterWriteMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "articles.byId");
+    }
+
+    /**
+     * Articolo pubblicato dalla cache, oppure caricato con loader; un loader che restituisce null
+     * (bozza) non crea la voce. Un'invalidazione concorrente sulla stessa chiave attende la fine
+     * del caricamento, quindi non può restare in cache una versione letta prima del commit di una modifica.
+     */
+    public ArticleDto get(Long id, Function<Long, ArticleDto> loader) {
+        if (!enabled) return loader.apply(id);
+        return cache.get(id, loader);
+    }
+
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+    }
+
+    public boolean contains(Long id) {
+        return cache.getIfPresent(id) != null;
+    }
+
+    /** Invalidazione locale dopo il commit, così l'istanza che scrive legge subito la propria modifica */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        invalidate(event.articleId());
+    }
+
+    @Override
+    public String name() {
+        return "article-cache";
+    }
+
+    @Override
+    public boolean supports(String type) {
+        return OutboxMessage.ARTICLE_CHANGED.equals(type);
+    }
+
+    @Override
+    public boolean perInstance() {
+        return true;
+    }
+
+    /** Invalidazione puntuale su ogni istanza per create, update e delete consegnati dall'outbox */
+    @Override
+    public void handle(OutboxMessage message) {
+        invalidate(message.aggregateId());
+    }
+
+    static int weigh(ArticleDto dto) {
+        long chars = length(dto.getContent()) + length(dto.getTitle()) + length(dto.getExcerpt())
+                + length(dto.getAuthorEmail());
+        if (dto.getCategories() != null) {
+            for (String c : dto.getCategories()) chars += length(c) + 16;
+        }
+        // Stringhe Java: fino a 2 byte per carattere
+        return (int) Math.min(Integer.MAX_VALUE, ENTRY_OVERHEAD_BYTES + chars * 2);
+    }
+
+    private static long length(String s) {
+        return s == null ? 0 : s.length();
+    }
+}
@@ -0,0 +1,84 @@
+package valeriodifelice.HextechHub.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import valeriodifelice.HextechHub.model.Article;
+import valeriodifelice.HextechHub.repository.ArticleRepository;
+
+import java.util.List;
+
+/**
+ * Migrazione una tantum delle categorie CSV degli articoli verso la tabella ponte article_categories.
+ * Come ChampionStatsMigration lavora a blocchi, ciascuno in una breve transazione.
+ */
+@Service
+public class ArticleCategoryMigration {
+    private static final Logger log = LoggerFactory.getLogger(ArticleCategoryMigration.class);
+
+    private final ArticleRepository articleRepository;
+    private final CategoryService categoryService;
+    private final CategoryIndex categoryIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final ArticleVersionService articleVersions;
+
+    @Value("${articles.categories.migration.enabled:true}")
+    private boolean enabled;
+
+    @Value("${articles.categories.migration.batch-size:500}")
+    private int batchSize;
+
+    public ArticleCategoryMigration(ArticleRepository articleRepository,
+                                    CategoryService categoryService,
+                                    CategoryIndex categoryIndex,
+                                    TransactionTemplate transactionTemplate,
+                                    ArticleVersionService articleVersions) {
+        this.articleRepository = articleRepository;
+        this.categoryService = categoryService;
+        this.categoryIndex = categoryIndex;
+        this.transactionTemplate = transactionTemplate;
+        this.articleVersions = articleVersions;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        if (enabled) {
+            migrateAll();
+        }
+    }
+
+    /** Copia le categorie di tutti gli articoli non ancora migrati; restituisce il numero di articoli aggiornati */
+    public int migrateAll() {
+        int total = 0;
+        long lastId = 0L;
+        while (true) {
+            final long after = lastId;
+            List<Long> chunk = transactionTemplate.execute(tx -> {
+                List<Article> rows = articleRepository.findCategoriesToBackfill(after, PageRequest.of(0, batchSize));
+                for (Article article : rows) {
+                    List<String> names = CategoryService.normalize(ArticleMapper.splitCategories(article.getCategories()));
+                    article.getCategorySet().addAll(categoryService.resolve(names));
+                    article.setCategories(names.isEmpty() ? null : String.join(",", names));
+                }
+                return rows.stream().map(Article::getId).toList();
+            });
+            if (chunk == null || chunk.isEmpty()) break;
+            total += chunk.size();
+            lastId = chunk.get(chunk.size() - 1);
+        }
+        if (total > 0) {
+            log.info("Migrate le categorie di {} articoli nella tabella ponte", total);
+            categoryIndex.refresh();
+            // Le categorie normalizzate cambiano le liste pubbliche: nuovo ETag
+            transactionTemplate.executeWithoutResult(tx -> articleVersions.increment());
+        }
+        return total;
+    }
+}
@@ -0,0 +1,162 @@
+package valeriodifelice.HextechHub.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Indice invertito testuale degli articoli: termine -> posting list ordinata per id con peso per documento.
+ * Il peso somma le occorrenze per campo (titolo, riassunto, contenuto) e viene saturato come in BM25;
+ * il punteggio di una query è la somma di peso x idf sui termini, tutti obbligatori (AND).
+ * Non è thread-safe: la sincronizzazione è a carico del chiamante.
+ */
+public final class ArticleInvertedIndex {
+
+    static final float TITLE_WEIGHT = 3f;
+    static final float EXCERPT_WEIGHT = 2f;
+    static final float CONTENT_WEIGHT = 1f;
+    private static final float K1 = 1.2f;
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    // Indice diretto: termini di ogni documento, per poterlo rimuovere o sostituire
+    private final Map<Integer, String[]> docTerms = new HashMap<>();
+
+    /** Inserisce o sostituisce un articolo */
+    public void put(long id, String title, String excerpt, String content) {
+        int doc = Math.toIntExact(id);
+        remove(doc);
+        Map<String, float[]> tf = new HashMap<>();
+        accumulate(tf, title, TITLE_WEIGHT);
+        accumulate(tf, excerpt, EXCERPT_WEIGHT);
+        accumulate(tf, content, CONTENT_WEIGHT);
+        if (tf.isEmpty()) return;
+        String[] terms = new String[tf.size()];
+        int i = 0;
+        for (Map.Entry<String, float[]> e : tf.entrySet()) {
+            float w = e.getValue()[0];
+            postings.computeIfAbsent(e.getKey(), k -> new Postings()).put(doc, w * (K1 + 1) / (w + K1));
+            terms[i++] = e.getKey();
+        }
+        docTerms.put(doc, terms);
+    }
+
+    public void remove(long id) {
+        int doc = Math.toIntExact(id);
+        String[] terms = docTerms.remove(doc);
+        if (terms == null) return;
+        for (String term : terms) {
+            Postings p = postings.get(term);
+            if (p != null && p.remove(doc) && p.size == 0) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    public int size() {
+        return docTerms.size();
+    }
+
+    /** I migliori limit risultati a partire da offset, più il numero totale di documenti corrispondenti */
+    public Matches search(Collection<String> terms, int offset, int limit) {
+        if (terms.isEmpty()) return new Matches(List.of(), 0);
+        Postings[] lists = new Postings[terms.size()];
+        float[] idf = new float[terms.size()];
+        int n = 0;
+        for (String term : terms) {
+            Postings p = postings.get(term);
+            if (p == null) return new Matches(List.of(), 0);
+            lists[n++] = p;
+        }
+        // Si scorre la lista più corta e si avanzano le altre: intersezione in tempo lineare
+        Arrays.sort(lists, Comparator.comparingInt(p -> p.size));
+        int total = docTerms.size();
+        for (int i = 0; i < n; i++) {
+            idf[i] = (float) Math.log(1 + (total - lists[i].size + 0.5) / (lists[i].size + 0.5));
+        }
+        int k = offset + limit;
+        PriorityQueue<ScoredDoc> top = new PriorityQueue<>(Math.max(1, k), ScoredDoc.ORDER);
+        int[] cursor = new int[n];
+        int matches = 0;
+        Postings shortest = lists[0];
+        outer:
+        for (int j = 0; j < shortest.size; j++) {
+            int doc = shortest.docs[j];
+            float score = shortest.weights[j] * idf[0];
+            for (int i = 1; i < n; i++) {
+                Postings p = lists[i];
+                int c = cursor[i];
+                while (c < p.size && p.docs[c] < doc) c++;
+                cursor[i] = c;
+                if (c == p.size) break outer;
+                if (p.docs[c] != doc) continue outer;
+                score += p.weights[c] * idf[i];
+            }
+            matches++;
+            if (k == 0) continue;
+            if (top.size() < k) {
+                top.add(new ScoredDoc(doc, score));
+            } else if (ScoredDoc.ORDER.compare(top.peek(), new ScoredDoc(doc, score)) < 0) {
+                top.poll();
+                top.add(new ScoredDoc(doc, score));
+            }
+        }
+        List<ScoredDoc> sorted = new ArrayList<>(top);
+        sorted.sort(ScoredDoc.ORDER.reversed());
+        List<ScoredDoc> page = offset >= sorted.size() ? List.of() : sorted.subList(offset, sorted.size());
+        return new Matches(List.copyOf(page), matches);
+    }
+
+    private static void accumulate(Map<String, float[]> tf, String text, float weight) {
+        for (String token : SearchText.tokenize(text)) {
+            tf.computeIfAbsent(token, k -> new float[1])[0] += weight;
+        }
+    }
+
+    /** Documento con punteggio; a parità di punteggio vince l'id più alto (articolo più recente) */
+    public record ScoredDoc(long id, float score) {
+        static final Comparator<ScoredDoc> ORDER = Comparator.comparingDouble(ScoredDoc::score)
+                .thenComparingLong(ScoredDoc::id);
+    }
+
+    public record Matches(List<ScoredDoc> top, int total) {
+    }
+
+    /** Posting list con id ordinati e pesi paralleli, su array primitivi */
+    private static final class Postings {
+        int[] docs = new int[4];
+        float[] weights = new float[4];
+        int size;
+
+        void put(int doc, float weight) {
+            int at = Arrays.binarySearch(docs, 0, size, doc);
+            if (at >= 0) {
+                weights[at] = weight;
+                return;
+            }
+            int insert = -at - 1;
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            System.arraycopy(docs, insert, docs, insert + 1, size - insert);
+            System.arraycopy(weights, insert, weights, insert + 1, size - insert);
+            docs[insert] = doc;
+            weights[insert] = weight;
+            size++;
+        }
+
+        boolean remove(int doc) {
+            int at = Arrays.binarySearch(docs, 0, size, doc);
+            if (at < 0) return false;
+            System.arraycopy(docs, at + 1, docs, at, size - at - 1);
+            System.arraycopy(weights, at + 1, weights, at, size - at - 1);
+            size--;
+            return true;
+        }
+    }
+}
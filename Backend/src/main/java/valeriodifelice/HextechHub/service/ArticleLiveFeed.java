@@ -0,0 +1,265 @@
+package valeriodifelice.HextechHub.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import valeriodifelice.HextechHub.event.OutboxMessage;
+import valeriodifelice.HextechHub.event.OutboxSubscriber;
+import valeriodifelice.HextechHub.repository.ArticleRepository;
+import valeriodifelice.HextechHub.repository.ArticleSummary;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Feed live degli articoli pubblici via Server-Sent Events.
+ * Un solo produttore (la consegna dell'outbox) scrive gli eventi in un buffer circolare e li offre
+ * alla coda limitata di ogni client; ogni client ha un proprio virtual thread che scrive sulla connessione.
+ * Un client la cui coda è piena viene chiuso invece di rallentare gli altri: si riconnette con Last-Event-ID.
+ * Alla riconnessione gli eventi persi sono copiati dal buffer e scritti dal writer prima della coda,
+ * quindi la ripresa copre tutto il buffer e non solo la capacità della coda.
+ * Gli id degli eventi hanno la forma epoca-sequenza; l'epoca è casuale a ogni avvio, quindi un id
+ * di un'altra istanza o di un avvio precedente non cade mai nella finestra di questa.
+ */
+@Service
+public class ArticleLiveFeed implements OutboxSubscriber {
+    private static final Logger log = LoggerFactory.getLogger(ArticleLiveFeed.class);
+
+    public static final String ARTICLE = "article";
+    public static final String REMOVED = "removed";
+    public static final String READY = "ready";
+    public static final String RESET = "reset";
+
+    private static final FeedEvent HEARTBEAT = new FeedEvent(0, null, null);
+
+    private final ArticleRepository articleRepository;
+    private final ObjectMapper objectMapper;
+    private final int clientQueueSize;
+    private final int maxClients;
+    private final long timeoutMs;
+    private final Counter dropped;
+
+    // Buffer circolare degli ultimi eventi, protetto da lock insieme all'elenco dei client
+    private final FeedEvent[] ring;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Set<Client> clients = ConcurrentHashMap.newKeySet();
+    private final String epoch = Long.toString(UUID.randomUUID().getMostSignificantBits() & Long.MAX_VALUE, 36);
+    private long lastId;
+
+    public ArticleLiveFeed(ArticleRepository articleRepository, ObjectMapper objectMapper,
+                           @Value("${articles.live.buffer-size:256}") int bufferSize,
+                           @Value("${articles.live.client-queue:64}") int clientQueueSize,
+                           @Value("${articles.live.max-clients:1000}") int maxClients,
+                           @Value("${articles.live.timeout-ms:1800000}") long timeoutMs,
+                           MeterRegistry meterRegistry) {
+        this.articleRepository = articleRepository;
+        this.objectMapper = objectMapper;
+        this.ring = new FeedEvent[Math.max(1, bufferSize)];
+        this.clientQueueSize = Math.max(1, clientQueueSize);
+        this.maxClients = maxClients;
+        this.timeoutMs = timeoutMs;
+        Gauge.builder("articles.live.clients", clients, Set::size)
+                .description("Client collegati al feed live degli articoli")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("articles.live.dropped")
+                .description("Client del feed live chiusi perché troppo lenti").register(meterRegistry);
+    }
+
+    /** Nuova connessione: con lastEventId riprende dagli eventi ancora nel buffer, altrimenti parte da ora */
+    public SseEmitter subscribe(String lastEventId) {
+        if (clients.size() >= maxClients) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Troppi client collegati al feed live");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        register(emitter, lastEventId);
+        return emitter;
+    }
+
+    void register(SseEmitter emitter, String lastEventId) {
+        Long resumeFrom = sequence(lastEventId);
+        Client client;
+        lock.lock();
+        try {
+            // Copia del replay e registrazione sotto lo stesso lock della pubblicazione: nessun evento perso o duplicato
+            client = new Client(emitter, new ArrayBlockingQueue<>(clientQueueSize), backlog(resumeFrom));
+            clients.add(client);
+        } finally {
+            lock.unlock();
+        }
+        emitter.onCompletion(() -> close(client));
+        emitter.onTimeout(() -> close(client));
+        emitter.onError(e -> close(client));
+        client.writer = Thread.ofVirtual().name("article-live").start(client::run);
+    }
+
+    @Override
+    public String name() {
+        return "article-live-feed";
+    }
+
+    @Override
+    public boolean supports(String type) {
+        return OutboxMessage.ARTICLE_CHANGED.equals(type);
+    }
+
+    /** I client sono collegati a questa istanza: riceve tutti gli eventi, anche quelli scritti altrove */
+    @Override
+    public boolean perInstance() {
+        return true;
+    }
+
+    /** Pubblicato: sintesi dell'articolo; cancellato o tornato bozza: solo l'id */
+    @Override
+    public void handle(OutboxMessage message) {
+        List<ArticleSummary> rows = articleRepository.findPublishedSummariesByIdIn(List.of(message.aggregateId()));
+        if (rows.isEmpty()) {
+            publish(REMOVED, Map.of("id", message.aggregateId()));
+        } else {
+            publish(ARTICLE, ArticleMapper.toSummaryDto(rows.get(0)));
+        }
+    }
+
+    void publish(String name, Object payload) {
+        String data;
+        try {
+            // Serializzato una volta sola per tutti i client
+            data = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        lock.lock();
+        try {
+            FeedEvent event = new FeedEvent(++lastId, name, data);
+            ring[(int) (event.id() % ring.length)] = event;
+            for (Client client : clients) {
+                offer(client, event);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Commento periodico: tiene aperte le connessioni dietro ai proxy e scopre i client scollegati */
+    @Scheduled(fixedDelayString = "${articles.live.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Client client : clients) {
+            offer(client, HEARTBEAT);
+        }
+    }
+
+    public int clientCount() {
+        return clients.size();
+    }
+
+    /** Sequenza di un Last-Event-ID di questa istanza; Long.MIN_VALUE per un id di un'altra epoca */
+    private Long sequence(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        String value = lastEventId.trim();
+        int separator = value.lastIndexOf('-');
+        try {
+            long sequence = Long.parseLong(value.substring(separator + 1));
+            if (separator <= 0 || sequence < 0) {
+                throw new NumberFormatException(value);
+            }
+            return epoch.equals(value.substring(0, separator)) ? sequence : Long.MIN_VALUE;
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Last-Event-ID non valido");
+        }
+    }
+
+    private List<FeedEvent> backlog(Long resumeFrom) {
+        if (resumeFrom == null) {
+            return List.of(new FeedEvent(lastId, READY, "{}"));
+        }
+        long oldest = Math.max(lastId - ring.length + 1, 1);
+        if (resumeFrom > lastId || resumeFrom < oldest - 1) {
+            // Eventi non più disponibili (o di un'altra istanza): il client deve ricaricare la lista
+            return List.of(new FeedEvent(lastId, RESET, "{}"));
+        }
+        int count = (int) (lastId - resumeFrom);
+        FeedEvent[] events = new FeedEvent[count];
+        for (int i = 0; i < count; i++) {
+            events[i] = ring[(int) ((resumeFrom + 1 + i) % ring.length)];
+        }
+        return List.of(events);
+    }
+
+    private void offer(Client client, FeedEvent event) {
+        if (!client.queue.offer(event)) {
+            dropped.increment();
+            log.debug("Feed live: client lento scollegato");
+            close(client);
+        }
+    }
+
+    private void close(Client client) {
+        if (clients.remove(client) && client.writer != null) {
+            // Il writer chiude la connessione uscendo dal ciclo; il produttore non attende mai la rete
+            client.writer.interrupt();
+        }
+    }
+
+    private final class Client {
+        private final SseEmitter emitter;
+        private final BlockingQueue<FeedEvent> queue;
+        // Eventi persi da riprendere o evento iniziale (ready/reset), scritti prima della coda
+        private final List<FeedEvent> replay;
+        private volatile Thread writer;
+
+        private Client(SseEmitter emitter, BlockingQueue<FeedEvent> queue, List<FeedEvent> replay) {
+            this.emitter = emitter;
+            this.queue = queue;
+            this.replay = replay;
+        }
+
+        private void run() {
+            try {
+                for (FeedEvent event : replay) {
+                    send(event);
+                }
+                while (clients.contains(this)) {
+                    send(queue.take());
+                }
+                emitter.complete();
+            } catch (InterruptedException e) {
+                emitter.complete();
+            } catch (IOException | IllegalStateException e) {
+                // Connessione già chiusa dal client
+                emitter.completeWithError(e);
+            } finally {
+                clients.remove(this);
+            }
+        }
+
+        private void send(FeedEvent event) throws IOException {
+            if (event == HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment("ping"));
+            } else {
+                emitter.send(SseEmitter.event().id(epoch + "-" + event.id()).name(event.name()).data(event.data()));
+            }
+        }
+    }
+
+    private record FeedEvent(long id, String name, String data) {
+    }
+}
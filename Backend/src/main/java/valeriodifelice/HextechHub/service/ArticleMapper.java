@@ -0,0 +1,50 @@
+package valeriodifelice.HextechHub.service;
+
+import valeriodifelice.HextechHub.dto.ArticleDto;
+import valeriodifelice.HextechHub.dto.ArticleSummaryDto;
+import valeriodifelice.HextechHub.model.Article;
+import valeriodifelice.HextechHub.repository.ArticleSummary;
+
+import java.util.List;
+
+/** Conversione di entità e proiezioni articolo nei DTO esposti dalle API */
+public final class ArticleMapper {
+
+    private ArticleMapper() {
+    }
+
+    public static ArticleDto toDto(Article article) {
+        return ArticleDto.builder()
+                .id(article.getId())
+                .title(article.getTitle())
+                .content(article.getContent())
+                .excerpt(article.getExcerpt())
+                .categories(splitCategories(article.getCategories()))
+                .published(article.isPublished())
+                .authorEmail(article.getAuthor().getEmail())
+                .createdAt(article.getCreatedAt())
+                .updatedAt(article.getUpdatedAt())
+                .build();
+    }
+
+    public static ArticleSummaryDto toSummaryDto(ArticleSummary summary) {
+        return ArticleSummaryDto.builder()
+                .id(summary.getId())
+                .title(summary.getTitle())
+                .excerpt(summary.getExcerpt())
+                .categories(splitCategories(summary.getCategories()))
+                .published(summary.isPublished())
+                .authorEmail(summary.getAuthorEmail())
+                .createdAt(summary.getCreatedAt())
+                .updatedAt(summary.getUpdatedAt())
+                .build();
+    }
+
+    public static List<String> splitCategories(String csv) {
+        if (csv == null || csv.isBlank()) return null;
+        return java.util.Arrays.stream(csv.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .toList();
+    }
+}
@@ -0,0 +1,27 @@
+package valeriodifelice.HextechHub.service;
+
+import java.util.List;
+
+/** Motore di ricerca full-text sugli articoli pubblicati (Postgres tsvector o indice in memoria) */
+public interface ArticleSearchIndex {
+
+    /** Risultati ordinati per rilevanza, a partire da offset */
+    Result search(String query, int offset, int limit);
+
+    /** Reindicizza un articolo dopo una scrittura (anche cancellazione o ritiro dalla pubblicazione) */
+    void update(Long articleId);
+
+    /** Costruisce o completa l'indice per tutti gli articoli */
+    void rebuild();
+
+    /** true se l'indice vive nel database condiviso da tutte le istanze */
+    default boolean shared() {
+        return false;
+    }
+
+    record Hit(long articleId, double score) {
+    }
+
+    record Result(List<Hit> hits, long total) {
+    }
+}
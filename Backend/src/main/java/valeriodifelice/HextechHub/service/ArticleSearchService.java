@@ -0,0 +1,139 @@
+package valeriodifelice.HextechHub.service;
+
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import valeriodifelice.HextechHub.config.MetricsConfig;
+import valeriodifelice.HextechHub.dto.ArticleSearchHitDto;
+import valeriodifelice.HextechHub.dto.ArticleSearchPageDto;
+import valeriodifelice.HextechHub.dto.ArticleSummaryDto;
+import valeriodifelice.HextechHub.event.OutboxMessage;
+import valeriodifelice.HextechHub.event.OutboxSubscriber;
+import valeriodifelice.HextechHub.repository.ArticleRepository;
+import valeriodifelice.HextechHub.repository.ArticleSearchRow;
+import valeriodifelice.HextechHub.repository.ArticleSummary;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/** Ricerca full-text sugli articoli pubblicati, con risultati paginati e snippet evidenziati */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class ArticleSearchService implements OutboxSubscriber {
+
+    private static final int SNIPPET_CHARS = 200;
+    private static final int MAX_QUERY_LENGTH = 200;
+
+    private final ArticleSearchIndex searchIndex;
+    private final ArticleRepository articleRepository;
+
+    @Value("${articles.search.default-page-size:20}")
+    private int defaultPageSize;
+
+    @Value("${articles.search.max-page-size:50}")
+    private int maxPageSize;
+
+    // Profondità massima raggiungibile con la paginazione (page * size)
+    @Value("${articles.search.max-results:1000}")
+    private int maxResults;
+
+    public ArticleSearchService(ArticleSearchIndex searchIndex, ArticleRepository articleRepository) {
+        this.searchIndex = searchIndex;
+        this.articleRepository = articleRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public ArticleSearchPageDto search(String query, Integer page, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Parametro q obbligatorio");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Ricerca troppo lunga (massimo " + MAX_QUERY_LENGTH + " caratteri)");
+        }
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        int pageIndex = page == null ? 0 : Math.max(0, page);
+        // Controllo prima della moltiplicazione: pagine enormi non devono andare in overflow
+        if (pageIndex >= maxResults / pageSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Pagina oltre i primi " + maxResults + " risultati");
+        }
+        int offset = pageIndex * pageSize;
+
+        ArticleSearchIndex.Result result = searchIndex.search(query.trim(), offset, pageSize);
+        List<ArticleSearchHitDto> items = new ArrayList<>(result.hits().size());
+        if (!result.hits().isEmpty()) {
+            List<Long> ids = result.hits().stream().map(ArticleSearchIndex.Hit::articleId).toList();
+            // Solo le righe della pagina: sintesi e testo per gli snippet
+            Map<Long, ArticleSummary> summaries = articleRepository.findPublishedSummariesByIdIn(ids).stream()
+                    .collect(Collectors.toMap(ArticleSummary::getId, Function.identity()));
+            Map<Long, ArticleSearchRow> texts = articleRepository.findPublishedSearchRowsByIdIn(ids).stream()
+                    .collect(Collectors.toMap(ArticleSearchRow::getId, Function.identity()));
+            Set<String> terms = SearchText.queryTerms(query);
+            for (ArticleSearchIndex.Hit hit : result.hits()) {
+                ArticleSummary summary = summaries.get(hit.articleId());
+                ArticleSearchRow text = texts.get(hit.articleId());
+                // Articolo cancellato o ritirato dopo la lettura dell'indice
+                if (summary == null || text == null) continue;
+                ArticleSummaryDto dto = ArticleMapper.toSummaryDto(summary);
+                items.add(ArticleSearchHitDto.builder()
+                        .article(dto)
+                        .score(hit.score())
+                        .snippet(snippet(text, terms))
+                        .build());
+            }
+        }
+        return ArticleSearchPageDto.builder()
+                .items(items)
+                .total(result.total())
+                .page(pageIndex)
+                .size(pageSize)
+                .build();
+    }
+
+    private static String snippet(ArticleSearchRow row, Set<String> terms) {
+        String s = SearchText.snippet(row.getContent(), terms, SNIPPET_CHARS);
+        if (s == null) s = SearchText.snippet(row.getExcerpt(), terms, SNIPPET_CHARS);
+        if (s == null) s = SearchText.snippet(row.getTitle(), terms, SNIPPET_CHARS);
+        if (s == null) s = SearchText.plain(row.getExcerpt() != null ? row.getExcerpt() : row.getContent(), SNIPPET_CHARS);
+        return s;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        searchIndex.rebuild();
+    }
+
+    @Override
+    public String name() {
+        return "article-search";
+    }
+
+    @Override
+    public boolean supports(String type) {
+        return OutboxMessage.ARTICLE_CHANGED.equals(type);
+    }
+
+    /** L'indice in memoria va aggiornato su ogni istanza, quello Postgres una volta sola */
+    @Override
+    public boolean perInstance() {
+        return !searchIndex.shared();
+    }
+
+    /** Aggiornamento incrementale dell'indice, consegnato dall'outbox dopo ogni scrittura di ArticleService */
+    @Override
+    public void handle(OutboxMessage message) {
+        searchIndex.update(message.aggregateId());
+    }
+}
@@ -1,29 +1,72 @@
 package valeriodifelice.HextechHub.service;
 
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import valeriodifelice.HextechHub.config.MetricsConfig;
 import valeriodifelice.HextechHub.dto.ArticleDto;
+import valeriodifelice.HextechHub.dto.ArticlePageDto;
 import valeriodifelice.HextechHub.dto.ArticleRequest;
+import valeriodifelice.HextechHub.dto.ArticleSummaryDto;
+import valeriodifelice.HextechHub.event.ArticleChangedEvent;
+import valeriodifelice.HextechHub.event.OutboxMessage;
 import valeriodifelice.HextechHub.model.Article;
 import valeriodifelice.HextechHub.model.User;
 import valeriodifelice.HextechHub.repository.ArticleRepository;
+import valeriodifelice.HextechHub.repository.ArticleSummary;
 import valeriodifelice.HextechHub.repository.UserRepository;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /** Servizio applicativo per articoli */
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @Transactional
 public class ArticleService {
 
+    // Limite di parametri per ogni clausola IN
+    private static final int ID_CHUNK_SIZE = 1000;
+    private static final Comparator<ArticleSummary> FEED_ORDER = Comparator
+            .comparing(ArticleSummary::getCreatedAt, Comparator.reverseOrder())
+            .thenComparing(ArticleSummary::getId, Comparator.reverseOrder());
+
     private final ArticleRepository articleRepository;
     private final UserRepository userRepository;
+    private final CategoryService categoryService;
+    private final CategoryIndex categoryIndex;
+    private final ArticleCache articleCache;
+    private final OutboxService outboxService;
+    private final ArticleVersionService articleVersions;
+    private final ApplicationEventPublisher events;
+
+    @Value("${articles.feed.default-page-size:20}")
+    private int defaultPageSize;
 
-    public ArticleService(ArticleRepository articleRepository, UserRepository userRepository) {
+    @Value("${articles.feed.max-page-size:100}")
+    private int maxPageSize;
+
+    public ArticleService(ArticleRepository articleRepository, UserRepository userRepository,
+                          CategoryService categoryService, CategoryIndex categoryIndex,
+                          ArticleCache articleCache, OutboxService outboxService,
+                          ArticleVersionService articleVersions, ApplicationEventPublisher events) {
         this.articleRepository = articleRepository;
         this.userRepository = userRepository;
+        this.categoryService = categoryService;
+        this.categoryIndex = categoryIndex;
+        this.articleCache = articleCache;
+        this.outboxService = outboxService;
+        this.articleVersions = articleVersions;
+        this.events = events;
     }
 
     public ArticleDto create(ArticleRequest request, String authorEmail) {
@@ -33,45 +76,130 @@ public class ArticleService {
             String c = request.getContent();
             excerpt = c == null ? null : c.substring(0, Math.min(240, c.length()));
         }
-        String categoriesCsv = request.getCategories() == null ? null : String.join(",", request.getCategories());
+        List<String> categories = CategoryService.normalize(request.getCategories());
         Article article = Article.builder()
                 .title(request.getTitle())
                 .content(request.getContent())
                 .excerpt(excerpt)
-                .categories(categoriesCsv)
+                .categories(categories.isEmpty() ? null : String.join(",", categories))
+                .categorySet(categoryService.resolve(categories))
                 .published(request.isPublished())
                 .author(author)
                 .build();
         Article saved = articleRepository.save(article);
-        return toDto(saved);
+        outboxService.append(OutboxMessage.ARTICLE_CHANGED, saved.getId());
+        articleVersions.increment();
+        events.publishEvent(new ArticleChangedEvent(saved.getId()));
+        return ArticleMapper.toDto(saved);
     }
 
-    public List<ArticleDto> getPublicArticles() {
-        return articleRepository.findByPublishedTrue().stream()
-                .map(this::toDto)
+    /** ETag forte per le liste pubbliche, calcolato senza leggere gli articoli */
+    @Transactional(readOnly = true)
+    public String getPublicVersionTag() {
+        return articleVersions.tag();
+    }
+
+    @Transactional(readOnly = true)
+    public List<ArticleSummaryDto> getPublicArticles() {
+        return articleRepository.findPublishedSummaries().stream()
+                .map(ArticleMapper::toSummaryDto)
                 .collect(Collectors.toList());
     }
 
-    public List<ArticleDto> getMyArticles(String email) {
-        User user = userRepository.findByEmail(email).orElseThrow();
-        return articleRepository.findByAuthor_Id(user.getId()).stream()
-                .map(this::toDto)
+    /**
+     * Articoli pubblicati con tutte (matchAll) o almeno una delle categorie indicate.
+     * Gli id vengono dall'indice invertito; il database legge solo le righe risultanti, a blocchi.
+     */
+    @Transactional(readOnly = true)
+    public List<ArticleSummaryDto> getPublicArticlesByCategories(List<String> categories, boolean matchAll) {
+        List<String> names = CategoryService.normalize(categories);
+        if (names.isEmpty()) return getPublicArticles();
+        BitSet ids = categoryIndex.match(names, matchAll);
+        List<Long> idList = ids.stream().mapToObj(Long::valueOf).toList();
+        List<ArticleSummary> rows = new ArrayList<>(idList.size());
+        for (int from = 0; from < idList.size(); from += ID_CHUNK_SIZE) {
+            rows.addAll(articleRepository.findPublishedSummariesByIdIn(
+                    idList.subList(from, Math.min(from + ID_CHUNK_SIZE, idList.size()))));
+        }
+        if (idList.size() > ID_CHUNK_SIZE) {
+            // Ogni blocco è ordinato dal database: serve solo riunirli nello stesso ordine del feed
+            rows.sort(FEED_ORDER);
+        }
+        return rows.stream().map(ArticleMapper::toSummaryDto).collect(Collectors.toList());
+    }
+
+    /** Dimensione effettiva della pagina del feed: predefinita se assente, limitata a [1, maxPageSize] */
+    public int feedPageSize(Integer size) {
+        return size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+    }
+
+    /** Pagina del feed pubblico con paginazione keyset su (createdAt, id) */
+    @Transactional(readOnly = true)
+    public ArticlePageDto getPublicFeed(String cursor, Integer size) {
+        int pageSize = feedPageSize(size);
+        // Si legge un elemento in più per sapere se esiste una pagina successiva
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<ArticleSummary> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = articleRepository.findPublishedFirstPage(limit);
+        } else {
+            ArticleCursor after = ArticleCursor.decode(cursor);
+            rows = articleRepository.findPublishedAfter(after.createdAt(), after.id(), limit);
+        }
+        boolean hasMore = rows.size() > pageSize;
+        List<ArticleSummary> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            ArticleSummary last = page.get(page.size() - 1);
+            nextCursor = new ArticleCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return ArticlePageDto.builder()
+                .items(page.stream().map(ArticleMapper::toSummaryDto).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Scorre tutti gli articoli pubblicati senza materializzare la lista:
+     * le righe sono proiezioni non gestite, quindi il persistence context resta vuoto.
+     */
+    @Transactional(readOnly = true)
+    public void streamPublicArticles(Consumer<ArticleSummaryDto> sink) {
+        try (Stream<ArticleSummary> articles = articleRepository.streamPublished()) {
+            articles.map(ArticleMapper::toSummaryDto).forEach(sink);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<ArticleSummaryDto> getMyArticles(String email) {
+        return articleRepository.findSummariesByAuthorEmail(email).stream()
+                .map(ArticleMapper::toSummaryDto)
                 .collect(Collectors.toList());
     }
 
     public ArticleDto getById(Long id, String requesterEmail, boolean isAdmin) {
-        Article article = articleRepository.findById(id).orElseThrow();
-        if (!article.isPublished()) {
-            String authorEmail = article.getAuthor().getEmail();
-            if (!(isAdmin || authorEmail.equals(requesterEmail))) {
-                throw new AccessDeniedException("Accesso negato");
+        // Gli articoli pubblicati passano dalla cache; le bozze vengono lette e controllate a ogni richiesta
+        Article[] draft = new Article[1];
+        ArticleDto cached = articleCache.get(id, key -> {
+            Article a = articleRepository.findWithAuthorById(key).orElseThrow();
+            if (!a.isPublished()) {
+                draft[0] = a;
+                return null;
             }
+            return ArticleMapper.toDto(a);
+        });
+        if (cached != null) return cached;
+        Article article = draft[0];
+        String authorEmail = article.getAuthor().getEmail();
+        if (!(isAdmin || authorEmail.equals(requesterEmail))) {
+            throw new AccessDeniedException("Accesso negato");
         }
-        return toDto(article);
+        return ArticleMapper.toDto(article);
     }
 
     public ArticleDto update(Long id, ArticleRequest request, String requesterEmail, boolean isAdmin) {
-        Article article = articleRepository.findById(id).orElseThrow();
+        Article article = articleRepository.findWithAuthorById(id).orElseThrow();
         String authorEmail = article.getAuthor().getEmail();
         if (!(isAdmin || authorEmail.equals(requesterEmail))) {
             throw new AccessDeniedException("Accesso negato");
@@ -84,39 +212,27 @@ public class ArticleService {
             excerpt = c == null ? null : c.substring(0, Math.min(240, c.length()));
         }
         article.setExcerpt(excerpt);
-        String categoriesCsv = request.getCategories() == null ? null : String.join(",", request.getCategories());
-        article.setCategories(categoriesCsv);
+        List<String> categories = CategoryService.normalize(request.getCategories());
+        article.setCategories(categories.isEmpty() ? null : String.join(",", categories));
+        article.getCategorySet().clear();
+        article.getCategorySet().addAll(categoryService.resolve(categories));
         article.setPublished(request.isPublished());
-        return toDto(articleRepository.save(article));
+        Article saved = articleRepository.save(article);
+        outboxService.append(OutboxMessage.ARTICLE_CHANGED, saved.getId());
+        articleVersions.increment();
+        events.publishEvent(new ArticleChangedEvent(saved.getId()));
+        return ArticleMapper.toDto(saved);
     }
 
     public void delete(Long id, String requesterEmail, boolean isAdmin) {
-        Article article = articleRepository.findById(id).orElseThrow();
+        Article article = articleRepository.findWithAuthorById(id).orElseThrow();
         String authorEmail = article.getAuthor().getEmail();
         if (!(isAdmin || authorEmail.equals(requesterEmail))) {
             throw new AccessDeniedException("Accesso negato");
         }
         articleRepository.delete(article);
+        outboxService.append(OutboxMessage.ARTICLE_CHANGED, id);
+        articleVersions.increment();
+        events.publishEvent(new ArticleChangedEvent(id));
     }
-
-    private ArticleDto toDto(Article article) {
-        java.util.List<String> categories = null;
-        if (article.getCategories() != null && !article.getCategories().isBlank()) {
-            categories = java.util.Arrays.stream(article.getCategories().split(","))
-                    .map(String::trim)
-                    .filter(s -> !s.isEmpty())
-                    .toList();
-        }
-        return ArticleDto.builder()
-                .id(article.getId())
-                .title(article.getTitle())
-                .content(article.getContent())
-                .excerpt(article.getExcerpt())
-                .categories(categories)
-                .published(article.isPublished())
-                .authorEmail(article.getAuthor().getEmail())
-                .createdAt(article.getCreatedAt())
-                .updatedAt(article.getUpdatedAt())
-                .build();
-    }
-}
\ No newline at end of file
+}
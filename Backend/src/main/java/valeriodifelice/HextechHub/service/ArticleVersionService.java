@@ -0,0 +1,56 @@
+package valeriodifelice.HextechHub.service;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import valeriodifelice.HextechHub.model.ArticleVersion;
+import valeriodifelice.HextechHub.repository.ArticleVersionRepository;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Versione degli articoli per gli ETag delle liste pubbliche: ogni scrittura incrementa il contatore
+ * nella propria transazione, le letture (anche quelle che finiscono in 304) leggono una riga per chiave.
+ */
+@Service
+public class ArticleVersionService {
+
+    private static final Long ROW_ID = 1L;
+
+    private final ArticleVersionRepository versionRepository;
+    private final TransactionTemplate ownTransaction;
+
+    public ArticleVersionService(ArticleVersionRepository versionRepository, PlatformTransactionManager transactionManager) {
+        this.versionRepository = versionRepository;
+        this.ownTransaction = new TransactionTemplate(transactionManager);
+        this.ownTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /** Nuova versione, visibile solo se la transazione della scrittura va a buon fine */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void increment() {
+        Instant now = Instant.now();
+        if (versionRepository.increment(ROW_ID, now) > 0) return;
+        try {
+            // Prima scrittura: la riga è creata in una transazione propria, una sola richiesta vince
+            ownTransaction.executeWithoutResult(tx ->
+                    versionRepository.saveAndFlush(new ArticleVersion(ROW_ID, 0, now)));
+        } catch (DataIntegrityViolationException e) {
+            // Creata nel frattempo da un'altra richiesta
+        }
+        versionRepository.increment(ROW_ID, now);
+    }
+
+    /** ETag forte per le liste pubbliche, calcolato senza leggere gli articoli */
+    @Transactional(readOnly = true)
+    public String tag() {
+        return versionRepository.findById(ROW_ID)
+                .map(v -> "articles-" + v.getVersion() + "-" + ChronoUnit.MICROS.between(Instant.EPOCH, v.getUpdatedAt()))
+                .orElse("articles-0-0");
+    }
+}
@@ -0,0 +1,7 @@
+package valeriodifelice.HextechHub.service;
+
+import java.io.Serializable;
+
+/** Payload JSON già serializzato in UTF-8 e la sua versione gzip, legati alla versione (ETag) dei dati */
+public record CachedResponse(String version, byte[] json, byte[] gzip) implements Serializable {
+}
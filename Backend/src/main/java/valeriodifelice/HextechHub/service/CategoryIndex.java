@@ -0,0 +1,142 @@
+package valeriodifelice.HextechHub.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import valeriodifelice.HextechHub.event.OutboxMessage;
+import valeriodifelice.HextechHub.event.OutboxSubscriber;
+import valeriodifelice.HextechHub.repository.ArticleCategoryRow;
+import valeriodifelice.HextechHub.repository.ArticleRepository;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Indice invertito in memoria categoria -> bitmap degli id degli articoli pubblicati.
+ * I filtri AND/OR diventano intersezioni e unioni di bitmap senza scorrere gli articoli.
+ * Le bitmap pubblicate non vengono mai modificate: ogni aggiornamento le copia e sostituisce l'indice.
+ */
+@Component
+public class CategoryIndex implements OutboxSubscriber {
+    private static final Logger log = LoggerFactory.getLogger(CategoryIndex.class);
+
+    private final ArticleRepository articleRepository;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(new Snapshot(Map.of(), Map.of()));
+    private final ReentrantLock updateLock = new ReentrantLock();
+
+    public CategoryIndex(ArticleRepository articleRepository) {
+        this.articleRepository = articleRepository;
+    }
+
+    /** Id degli articoli con tutte (matchAll) o almeno una delle categorie normalizzate indicate */
+    public BitSet match(Collection<String> categories, boolean matchAll) {
+        Map<String, BitSet> byCategory = snapshot.get().byCategory();
+        BitSet result = null;
+        for (String category : categories) {
+            BitSet ids = byCategory.get(category);
+            if (ids == null) {
+                if (matchAll) return new BitSet();
+                continue;
+            }
+            if (result == null) {
+                result = (BitSet) ids.clone();
+            } else if (matchAll) {
+                result.and(ids);
+            } else {
+                result.or(ids);
+            }
+        }
+        return result == null ? new BitSet() : result;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        refresh();
+    }
+
+    /** Ricostruisce l'intero indice dalla tabella ponte */
+    public void refresh() {
+        updateLock.lock();
+        try {
+            Map<String, BitSet> byCategory = new HashMap<>();
+            Map<Integer, List<String>> byArticle = new HashMap<>();
+            for (ArticleCategoryRow row : articleRepository.findPublishedCategoryRows()) {
+                int id = Math.toIntExact(row.getArticleId());
+                byCategory.computeIfAbsent(row.getCategory(), k -> new BitSet()).set(id);
+                byArticle.computeIfAbsent(id, k -> new ArrayList<>()).add(row.getCategory());
+            }
+            snapshot.set(new Snapshot(byCategory, byArticle));
+            log.info("Indice categorie ricostruito: {} categorie, {} articoli", byCategory.size(), byArticle.size());
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    @Override
+    public String name() {
+        return "category-index";
+    }
+
+    @Override
+    public boolean supports(String type) {
+        return OutboxMessage.ARTICLE_CHANGED.equals(type);
+    }
+
+    @Override
+    public boolean perInstance() {
+        return true;
+    }
+
+    /** Aggiorna il solo articolo modificato, consegnato dall'outbox dopo il commit della scrittura */
+    @Override
+    public void handle(OutboxMessage message) {
+        updateLock.lock();
+        try {
+            // Lo stato viene riletto dal database: vale anche per eventi ripetuti o fuori ordine
+            int id = Math.toIntExact(message.aggregateId());
+            List<String> current = articleRepository.findPublishedCategoryRowsById(message.aggregateId()).stream()
+                    .map(ArticleCategoryRow::getCategory)
+                    .toList();
+            Snapshot prev = snapshot.get();
+            List<String> previous = prev.byArticle().getOrDefault(id, List.of());
+            if (previous.equals(current)) return;
+
+            Map<String, BitSet> byCategory = new HashMap<>(prev.byCategory());
+            Map<Integer, List<String>> byArticle = new HashMap<>(prev.byArticle());
+            for (String category : previous) {
+                BitSet ids = (BitSet) byCategory.get(category).clone();
+                ids.clear(id);
+                if (ids.isEmpty()) {
+                    byCategory.remove(category);
+                } else {
+                    byCategory.put(category, ids);
+                }
+            }
+            for (String category : current) {
+                BitSet existing = byCategory.get(category);
+                BitSet ids = existing == null ? new BitSet() : (BitSet) existing.clone();
+                ids.set(id);
+                byCategory.put(category, ids);
+            }
+            if (current.isEmpty()) {
+                byArticle.remove(id);
+            } else {
+                byArticle.put(id, current);
+            }
+            snapshot.set(new Snapshot(byCategory, byArticle));
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    private record Snapshot(Map<String, BitSet> byCategory, Map<Integer, List<String>> byArticle) {
+    }
+}
@@ -0,0 +1,85 @@
+package valeriodifelice.HextechHub.service;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import valeriodifelice.HextechHub.model.Category;
+import valeriodifelice.HextechHub.repository.CategoryRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/** Normalizzazione dei nomi di categoria e risoluzione verso le righe della tabella categories */
+@Service
+@Transactional
+public class CategoryService {
+
+    private final CategoryRepository categoryRepository;
+    private final TransactionTemplate ownTransaction;
+
+    public CategoryService(CategoryRepository categoryRepository, PlatformTransactionManager transactionManager) {
+        this.categoryRepository = categoryRepository;
+        // Ogni nuova categoria in una transazione propria: un conflitto non invalida quella del chiamante
+        this.ownTransaction = new TransactionTemplate(transactionManager);
+        this.ownTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /** Nomi ripuliti (trim, minuscolo, senza vuoti né duplicati) nell'ordine ricevuto */
+    public static List<String> normalize(Collection<String> raw) {
+        if (raw == null) return List.of();
+        Set<String> names = new LinkedHashSet<>();
+        for (String name : raw) {
+            if (name == null) continue;
+            String n = name.trim().toLowerCase(Locale.ROOT);
+            if (n.isEmpty()) continue;
+            if (n.length() > Category.MAX_NAME_LENGTH) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Categoria troppo lunga (massimo " + Category.MAX_NAME_LENGTH + " caratteri)");
+            }
+            names.add(n);
+        }
+        return List.copyOf(names);
+    }
+
+    /**
+     * Categorie corrispondenti ai nomi già normalizzati, creando quelle mancanti.
+     * Se una scrittura concorrente crea la stessa categoria, il vincolo uk_categories_name
+     * respinge il doppione e la riga già presente viene riletta.
+     */
+    public Set<Category> resolve(List<String> names) {
+        if (names.isEmpty()) return new HashSet<>();
+        Map<String, Category> existing = categoryRepository.findByNameIn(names).stream()
+                .collect(Collectors.toMap(Category::getName, Function.identity()));
+        Set<Category> result = new HashSet<>(existing.values());
+        List<String> missing = new ArrayList<>();
+        for (String name : names) {
+            if (!existing.containsKey(name)) {
+                missing.add(name);
+            }
+        }
+        if (missing.isEmpty()) return result;
+        for (String name : missing) {
+            try {
+                ownTransaction.executeWithoutResult(tx -> categoryRepository.save(Category.builder().name(name).build()));
+            } catch (DataIntegrityViolationException e) {
+                // Creata nel frattempo da un'altra richiesta
+            }
+        }
+        // Righe rilette nella transazione del chiamante, create qui o da altri
+        result.addAll(categoryRepository.findByNameIn(missing));
+        return result;
+    }
+}
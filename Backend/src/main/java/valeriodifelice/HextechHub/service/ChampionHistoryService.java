@@ -0,0 +1,229 @@
+package valeriodifelice.HextechHub.service;
+
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import valeriodifelice.HextechHub.config.MetricsConfig;
+import valeriodifelice.HextechHub.dto.ChampionTrendPointDto;
+import valeriodifelice.HextechHub.dto.PatchDeltaDto;
+import valeriodifelice.HextechHub.model.ChampionStatsRollup;
+import valeriodifelice.HextechHub.repository.ChampionStatsRollupRepository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * Storico delle statistiche campioni per patch, giorno e regione, alimentato dall'import massivo.
+ * Lo storico grezzo (solo colonne numeriche primitive) è partizionato per patch su PostgreSQL;
+ * trend e variazioni tra patch sono letti dagli aggregati di champion_stats_rollup.
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class ChampionHistoryService {
+    private static final Logger log = LoggerFactory.getLogger(ChampionHistoryService.class);
+
+    private static final Pattern PATCH = Pattern.compile("\\d{1,2}\\.\\d{1,2}");
+
+    private static final String HISTORY_COLUMNS =
+            "patch varchar(16) not null, captured_on date not null, region varchar(8) not null, " +
+            "name varchar(255) not null, role varchar(32) not null, win_rate_pct double precision not null, " +
+            "pick_rate_pct double precision not null, ban_rate_pct double precision not null, " +
+            "matches_count integer not null";
+
+    private static final String INSERT_HISTORY =
+            "insert into champion_stats_history (patch, captured_on, region, name, role, " +
+            "win_rate_pct, pick_rate_pct, ban_rate_pct, matches_count) values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_ROLLUP =
+            "insert into champion_stats_rollup (patch, patch_order, region, name, role, samples, first_day, last_day, " +
+            "win_rate_pct, pick_rate_pct, ban_rate_pct, matches_count) " +
+            "select patch, ?, region, name, role, count(*), min(captured_on), max(captured_on), " +
+            "coalesce(sum(win_rate_pct * matches_count) / nullif(sum(matches_count), 0), avg(win_rate_pct)), " +
+            "avg(pick_rate_pct), avg(ban_rate_pct), max(matches_count) " +
+            "from champion_stats_history where patch = ? and region = ? group by patch, region, name, role";
+
+    private final JdbcTemplate jdbc;
+    private final ChampionStatsRollupRepository rollupRepository;
+    private final ReentrantLock schemaLock = new ReentrantLock();
+    private final Set<String> partitions = ConcurrentHashMap.newKeySet();
+    private volatile Boolean postgres;
+
+    public ChampionHistoryService(JdbcTemplate jdbc, ChampionStatsRollupRepository rollupRepository) {
+        this.jdbc = jdbc;
+        this.rollupRepository = rollupRepository;
+    }
+
+    /** Verifica il formato della patch (es. 14.20), 400 se non valido */
+    public static String requirePatch(String patch) {
+        String value = patch == null ? "" : patch.trim();
+        if (!PATCH.matcher(value).matches()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Patch non valida, formato atteso 14.20");
+        }
+        return value;
+    }
+
+    static int patchOrder(String patch) {
+        int dot = patch.indexOf('.');
+        return Integer.parseInt(patch.substring(0, dot)) * 1000 + Integer.parseInt(patch.substring(dot + 1));
+    }
+
+    /** Crea la tabella dello storico (non gestita da Hibernate, perché partizionata su PostgreSQL) */
+    @EventListener(ApplicationReadyEvent.class)
+    public void createSchema() {
+        schemaLock.lock();
+        try {
+            if (isPostgres()) {
+                jdbc.execute("create table if not exists champion_stats_history (" + HISTORY_COLUMNS + ") partition by list (patch)");
+                // BRIN: indice minimo per uno storico scritto in ordine di data
+                jdbc.execute("create index if not exists idx_champion_history_day on champion_stats_history using brin (captured_on)");
+            } else {
+                jdbc.execute("create table if not exists champion_stats_history (" + HISTORY_COLUMNS + ")");
+                jdbc.execute("create index if not exists idx_champion_history_patch_day on champion_stats_history (patch, captured_on)");
+            }
+        } finally {
+            schemaLock.unlock();
+        }
+    }
+
+    /**
+     * Crea la partizione della patch se manca. Va chiamato fuori dalla transazione di import:
+     * il DDL su H2 esegue un commit implicito.
+     */
+    public void prepare(String patch) {
+        if (partitions.contains(patch)) return;
+        schemaLock.lock();
+        try {
+            if (isPostgres()) {
+                jdbc.execute("create table if not exists champion_stats_history_p" + patch.replace('.', '_') +
+                        " partition of champion_stats_history for values in ('" + patch + "')");
+            }
+            partitions.add(patch);
+        } finally {
+            schemaLock.unlock();
+        }
+    }
+
+    /** Sostituisce la rilevazione del giorno per patch e regione: un nuovo import nello stesso giorno non duplica i campioni */
+    public void clearCapture(String region, String patch, LocalDate day) {
+        jdbc.update("delete from champion_stats_history where patch = ? and captured_on = ? and region = ?",
+                patch, Date.valueOf(day), region);
+    }
+
+    /** Accoda allo storico le righe di un blocco dell'import (argomenti nel formato di ChampionIngestService) */
+    public void append(String patch, LocalDate day, List<Object[]> rows) {
+        Date capturedOn = Date.valueOf(day);
+        List<Object[]> args = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            args.add(new Object[]{patch, capturedOn, row[10], row[0], row[1], row[6], row[7], row[8], row[9]});
+        }
+        jdbc.batchUpdate(INSERT_HISTORY, args);
+    }
+
+    /** Ricalcola gli aggregati della sola patch e regione importate, leggendo solo la partizione della patch */
+    public int rollup(String region, String patch) {
+        jdbc.update("delete from champion_stats_rollup where patch = ? and region = ?", patch, region);
+        int rows = jdbc.update(INSERT_ROLLUP, patchOrder(patch), patch, region);
+        log.info("Aggregati storici patch {} ({}): {} campioni", patch, region, rows);
+        return rows;
+    }
+
+    /** Serie per patch di un campione nella regione, per tutti i ruoli o per uno solo */
+    public List<ChampionTrendPointDto> trend(String name, String role, String region) {
+        if (name == null || name.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Parametro name obbligatorio");
+        }
+        List<ChampionStatsRollup> rows = role == null || role.isBlank()
+                ? rollupRepository.findByNameIgnoreCaseAndRegionOrderByPatchOrderAscRoleAsc(name.trim(), region)
+                : rollupRepository.findByNameIgnoreCaseAndRoleIgnoreCaseAndRegionOrderByPatchOrderAsc(name.trim(), role.trim(), region);
+        return rows.stream().map(ChampionHistoryService::toPoint).toList();
+    }
+
+    /**
+     * Variazioni tra due patch nella regione, ordinate per variazione di win rate decrescente.
+     * Senza parametri confronta le due patch più recenti.
+     */
+    public List<PatchDeltaDto> deltas(String from, String to, String role, String region) {
+        if (from == null || to == null) {
+            List<String> latest = rollupRepository.findPatchesNewestFirst(region, PageRequest.of(0, 2));
+            if (latest.size() < 2) return List.of();
+            to = to == null ? latest.get(0) : requirePatch(to);
+            from = from == null ? latest.get(1) : requirePatch(from);
+        } else {
+            from = requirePatch(from);
+            to = requirePatch(to);
+        }
+        Map<String, ChampionStatsRollup> before = new HashMap<>();
+        for (ChampionStatsRollup r : rollupRepository.findByPatchAndRegion(from, region)) {
+            before.put(key(r), r);
+        }
+        List<PatchDeltaDto> result = new ArrayList<>();
+        for (ChampionStatsRollup r : rollupRepository.findByPatchAndRegion(to, region)) {
+            if (role != null && !role.isBlank() && !r.getRole().equalsIgnoreCase(role.trim())) continue;
+            ChampionStatsRollup prev = before.get(key(r));
+            if (prev == null) continue;
+            result.add(PatchDeltaDto.builder()
+                    .name(r.getName())
+                    .role(r.getRole())
+                    .region(r.getRegion())
+                    .fromPatch(from)
+                    .toPatch(to)
+                    .winRate(r.getWinRatePct())
+                    .winRateDelta(r.getWinRatePct() - prev.getWinRatePct())
+                    .pickRate(r.getPickRatePct())
+                    .pickRateDelta(r.getPickRatePct() - prev.getPickRatePct())
+                    .banRate(r.getBanRatePct())
+                    .banRateDelta(r.getBanRatePct() - prev.getBanRatePct())
+                    .matches(r.getMatchesCount())
+                    .build());
+        }
+        result.sort(Comparator.comparingDouble(PatchDeltaDto::getWinRateDelta).reversed()
+                .thenComparing(PatchDeltaDto::getName));
+        return result;
+    }
+
+    private static String key(ChampionStatsRollup r) {
+        return r.getName() + '\u0000' + r.getRole();
+    }
+
+    private static ChampionTrendPointDto toPoint(ChampionStatsRollup r) {
+        return ChampionTrendPointDto.builder()
+                .patch(r.getPatch())
+                .role(r.getRole())
+                .region(r.getRegion())
+                .firstDay(r.getFirstDay())
+                .lastDay(r.getLastDay())
+                .samples(r.getSamples())
+                .winRate(r.getWinRatePct())
+                .pickRate(r.getPickRatePct())
+                .banRate(r.getBanRatePct())
+                .matches(r.getMatchesCount())
+                .build();
+    }
+
+    private boolean isPostgres() {
+        Boolean value = postgres;
+        if (value == null) {
+            String product = jdbc.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+            value = "PostgreSQL".equalsIgnoreCase(product);
+            postgres = value;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,351 @@
+package valeriodifelice.HextechHub.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import valeriodifelice.HextechHub.config.HibernateCacheConfig;
+import valeriodifelice.HextechHub.config.MetricsConfig;
+import valeriodifelice.HextechHub.dto.ChampionIngestResultDto;
+import valeriodifelice.HextechHub.dto.ChampionStatsRow;
+import valeriodifelice.HextechHub.model.Champion;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Import massivo delle statistiche di una patch: il payload (array JSON o CSV con intestazione) è letto
+ * in streaming e scritto con upsert JDBC a blocchi sulla chiave (name, role, region), in un'unica transazione.
+ * Con una patch indicata le righe sono accodate anche allo storico, di cui si ricalcolano gli aggregati.
+ * Al termine lo snapshot in memoria viene ricaricato una sola volta.
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class ChampionIngestService {
+    private static final Logger log = LoggerFactory.getLogger(ChampionIngestService.class);
+
+    private static final String COLUMNS =
+            "name, role, winrate, pickrate, banrate, matches, win_rate_pct, pick_rate_pct, ban_rate_pct, matches_count, region";
+
+    private static final String UPSERT_POSTGRES =
+            "insert into champions (" + COLUMNS + ") values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "on conflict (name, role, region) do update set winrate = excluded.winrate, pickrate = excluded.pickrate, " +
+            "banrate = excluded.banrate, matches = excluded.matches, win_rate_pct = excluded.win_rate_pct, " +
+            "pick_rate_pct = excluded.pick_rate_pct, ban_rate_pct = excluded.ban_rate_pct, " +
+            "matches_count = excluded.matches_count";
+
+    // H2 (test e sviluppo locale) non supporta ON CONFLICT ... DO UPDATE
+    private static final String UPSERT_MERGE =
+            "merge into champions (" + COLUMNS + ") key (name, role, region) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int MAX_NAME_LENGTH = 255;
+    private static final int MAX_ROLE_LENGTH = 32;
+
+    public enum Format { JSON, CSV }
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ChampionService championService;
+    private final ChampionHistoryService historyService;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Value("${champions.ingest.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${champions.ingest.max-rows:20000}")
+    private int maxRows;
+
+    private volatile String upsertSql;
+
+    public ChampionIngestService(JdbcTemplate jdbc, TransactionTemplate transactionTemplate,
+                                 ObjectMapper objectMapper, ChampionService championService,
+                                 ChampionHistoryService historyService, EntityManagerFactory entityManagerFactory) {
+        this.jdbc = jdbc;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.championService = championService;
+        this.historyService = historyService;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Importa le righe del payload per una regione (GLOBAL per le statistiche aggregate);
+     * con replace elimina i campioni della regione assenti dal payload (patch completa).
+     * Con patch (null per non registrare lo storico) le righe sono la rilevazione del giorno indicato.
+     * Una riga non valida annulla l'intero import.
+     */
+    public ChampionIngestResultDto ingest(InputStream body, Format format, boolean replace,
+                                          String region, String patch, LocalDate day) {
+        long start = System.nanoTime();
+        String sql = upsertSql();
+        if (patch != null) {
+            historyService.prepare(patch);
+        }
+        int[] counters = new int[4]; // ricevute, scritte, rimosse, blocchi
+        transactionTemplate.executeWithoutResult(tx -> {
+            if (patch != null) {
+                historyService.clearCapture(region, patch, day);
+            }
+            Set<String> seen = replace ? new HashSet<>() : null;
+            Map<String, Object[]> batch = new LinkedHashMap<>();
+            try (RowReader reader = format == Format.CSV ? new CsvRowReader(body) : new JsonRowReader(body)) {
+                ChampionStatsRow row;
+                while ((row = reader.next()) != null) {
+                    if (++counters[0] > maxRows) {
+                        throw badRequest("Troppe righe: massimo " + maxRows);
+                    }
+                    Object[] args = toArgs(row, region, counters[0]);
+                    String key = args[0] + "\u0000" + args[1];
+                    // Nello stesso blocco vince l'ultima occorrenza di una chiave
+                    batch.remove(key);
+                    batch.put(key, args);
+                    if (seen != null) seen.add(key);
+                    if (batch.size() >= batchSize) {
+                        counters[1] += flush(sql, batch, patch, day);
+                        counters[3]++;
+                    }
+                }
+            } catch (IOException e) {
+                throw badRequest("Payload non leggibile: " + e.getMessage());
+            }
+            if (!batch.isEmpty()) {
+                counters[1] += flush(sql, batch, patch, day);
+                counters[3]++;
+            }
+            if (seen != null) {
+                counters[2] = removeMissing(region, seen);
+            }
+            if (patch != null) {
+                historyService.rollup(region, patch);
+            }
+        });
+        evictSecondLevelCache();
+        ChampionStatsSnapshot snapshot = championService.refresh();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("Import campioni: {} righe ricevute, {} scritte in {} blocchi, {} rimosse, {} ms",
+                counters[0], counters[1], counters[3], counters[2], elapsedMs);
+        return ChampionIngestResultDto.builder()
+                .received(counters[0])
+                .upserted(counters[1])
+                .removed(counters[2])
+                .batches(counters[3])
+                .version(snapshot.version())
+                .region(region)
+                .patch(patch)
+                .elapsedMs(elapsedMs)
+                .build();
+    }
+
+    private int flush(String sql, Map<String, Object[]> batch, String patch, LocalDate day) {
+        List<Object[]> rows = new ArrayList<>(batch.values());
+        jdbc.batchUpdate(sql, rows);
+        if (patch != null) {
+            historyService.append(patch, day, rows);
+        }
+        batch.clear();
+        return rows.size();
+    }
+
+    private int removeMissing(String region, Set<String> seen) {
+        List<Object[]> stale = new ArrayList<>();
+        jdbc.query("select id, name, role from champions where region = ?", rs -> {
+            if (!seen.contains(rs.getString("name") + "\u0000" + rs.getString("role"))) {
+                stale.add(new Object[]{rs.getLong("id")});
+            }
+        }, region);
+        for (int from = 0; from < stale.size(); from += batchSize) {
+            jdbc.batchUpdate("delete from champions where id = ?",
+                    stale.subList(from, Math.min(from + batchSize, stale.size())));
+        }
+        return stale.size();
+    }
+
+    private static Object[] toArgs(ChampionStatsRow row, String region, int line) {
+        String name = trim(row.getName());
+        String role = trim(row.getRole());
+        if (name.isEmpty() || role.isEmpty()) {
+            throw badRequest("Riga " + line + ": name e role obbligatori");
+        }
+        if (name.length() > MAX_NAME_LENGTH || role.length() > MAX_ROLE_LENGTH) {
+            throw badRequest("Riga " + line + ": name o role troppo lunghi");
+        }
+        String winRate = stat(row.getWinRate());
+        String pickRate = stat(row.getPickRate());
+        String banRate = stat(row.getBanRate());
+        String matches = stat(row.getMatches());
+        // Validazione stretta: un valore malformato annulla l'import invece di essere salvato come 0
+        try {
+            return new Object[]{name, role, winRate, pickRate, banRate, matches,
+                    ChampionStatsParser.parsePercentStrict(winRate),
+                    ChampionStatsParser.parsePercentStrict(pickRate),
+                    ChampionStatsParser.parsePercentStrict(banRate),
+                    ChampionStatsParser.parseIntStrict(matches),
+                    region};
+        } catch (IllegalArgumentException e) {
+            throw badRequest("Riga " + line + " (" + name + "): " + e.getMessage());
+        }
+    }
+
+    private static String trim(String s) {
+        return s == null ? "" : s.trim();
+    }
+
+    // Le colonne testuali sono obbligatorie: un valore mancante vale 0
+    private static String stat(String s) {
+        String value = trim(s);
+        return value.isEmpty() ? "0" : value;
+    }
+
+    private static ResponseStatusException badRequest(String reason) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, reason);
+    }
+
+    /** Le scritture JDBC non passano da Hibernate: le regioni di secondo livello dei campioni vanno svuotate */
+    private void evictSecondLevelCache() {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(Champion.class);
+        cache.evictQueryRegion(HibernateCacheConfig.CHAMPIONS_BY_ROLE);
+    }
+
+    private String upsertSql() {
+        String sql = upsertSql;
+        if (sql == null) {
+            String product = jdbc.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+            sql = "PostgreSQL".equalsIgnoreCase(product) ? UPSERT_POSTGRES : UPSERT_MERGE;
+            upsertSql = sql;
+        }
+        return sql;
+    }
+
+    private interface RowReader extends AutoCloseable {
+        /** Prossima riga, null a fine payload */
+        ChampionStatsRow next() throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    /** Array JSON letto oggetto per oggetto, senza materializzare l'intero payload */
+    private final class JsonRowReader implements RowReader {
+        private final JsonParser parser;
+
+        JsonRowReader(InputStream in) throws IOException {
+            this.parser = objectMapper.getFactory().createParser(in);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw badRequest("Atteso un array JSON di campioni");
+            }
+        }
+
+        @Override
+        public ChampionStatsRow next() throws IOException {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.END_ARRAY || token == null) return null;
+            if (token != JsonToken.START_OBJECT) {
+                throw badRequest("Atteso un oggetto campione");
+            }
+            return parser.readValueAs(ChampionStatsRow.class);
+        }
+
+        @Override
+        public void close() throws IOException {
+            parser.close();
+        }
+    }
+
+    /** CSV con intestazione (name, role, winrate, pickrate, banrate, matches in qualsiasi ordine) */
+    private static final class CsvRowReader implements RowReader {
+        private final BufferedReader reader;
+        private final Map<String, Integer> columns = new HashMap<>();
+
+        CsvRowReader(InputStream in) throws IOException {
+            this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            String header = reader.readLine();
+            if (header == null) {
+                throw badRequest("CSV vuoto");
+            }
+            List<String> names = split(header.startsWith("\uFEFF") ? header.substring(1) : header);
+            for (int i = 0; i < names.size(); i++) {
+                columns.put(names.get(i).trim().toLowerCase(Locale.ROOT).replace("_", ""), i);
+            }
+            if (!columns.containsKey("name") || !columns.containsKey("role")) {
+                throw badRequest("Intestazione CSV senza colonne name e role");
+            }
+        }
+
+        @Override
+        public ChampionStatsRow next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) return null;
+            } while (line.isBlank());
+            List<String> values = split(line);
+            return new ChampionStatsRow(value(values, "name"), value(values, "role"), value(values, "winrate"),
+                    value(values, "pickrate"), value(values, "banrate"), value(values, "matches"));
+        }
+
+        private String value(List<String> values, String column) {
+            Integer i = columns.get(column);
+            return i == null || i >= values.size() ? null : values.get(i);
+        }
+
+        // Campi separati da virgola, con virgolette doppie per valori come "12,345"
+        static List<String> split(String line) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder current = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char ch = line.charAt(i);
+                if (quoted) {
+                    if (ch == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else if (ch == '"') {
+                        quoted = false;
+                    } else {
+                        current.append(ch);
+                    }
+                } else if (ch == '"') {
+                    quoted = true;
+                } else if (ch == ',') {
+                    fields.add(current.toString());
+                    current.setLength(0);
+                } else {
+                    current.append(ch);
+                }
+            }
+            fields.add(current.toString());
+            return fields;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
@@ -1,67 +1,145 @@
 package valeriodifelice.HextechHub.service;
 
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import valeriodifelice.HextechHub.config.MetricsConfig;
 import valeriodifelice.HextechHub.dto.ChampionDto;
+import valeriodifelice.HextechHub.event.ChampionSnapshotRefreshedEvent;
 import valeriodifelice.HextechHub.model.Champion;
+import valeriodifelice.HextechHub.model.Region;
 import valeriodifelice.HextechHub.repository.ChampionRepository;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Servizio campioni: le letture sono servite da uno snapshot in memoria per regione,
+ * ricaricati insieme periodicamente o su richiesta di un admin e sostituiti in modo atomico.
+ * Ogni regione (GLOBAL e tutte le Region) ha sempre uno snapshot, eventualmente vuoto.
+ */
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class ChampionService {
+    private static final Logger log = LoggerFactory.getLogger(ChampionService.class);
+
     private final ChampionRepository championRepository;
+    private final AtomicReference<Map<String, ChampionStatsSnapshot>> snapshots =
+            new AtomicReference<>(Map.of(Champion.GLOBAL_REGION, ChampionStatsSnapshot.empty()));
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private final ApplicationEventPublisher events;
 
-    public ChampionService(ChampionRepository championRepository) {
+    public ChampionService(ChampionRepository championRepository, ApplicationEventPublisher events) {
         this.championRepository = championRepository;
+        this.events = events;
+    }
+
+    /** Chiave normalizzata della regione: GLOBAL se assente, 400 se non è una Region */
+    public static String regionKey(String region) {
+        if (region == null || region.isBlank()) return Champion.GLOBAL_REGION;
+        String key = region.trim().toUpperCase(Locale.ROOT);
+        if (key.equals(Champion.GLOBAL_REGION)) return key;
+        try {
+            return Region.valueOf(key).name();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Regione non valida: " + region);
+        }
     }
 
-    @Transactional(readOnly = true)
     public List<ChampionDto> getAll() {
-        return championRepository.findAll().stream().map(this::toDto).collect(Collectors.toList());
+        return getAll(null);
+    }
+
+    public List<ChampionDto> getAll(String region) {
+        ChampionStatsSnapshot s = getSnapshot(region);
+        List<ChampionDto> result = new ArrayList<>(s.size());
+        for (int i = 0; i < s.size(); i++) {
+            result.add(s.toDto(i));
+        }
+        return result;
     }
 
-    @Transactional(readOnly = true)
     public ChampionDto getById(Long id) {
-        Champion c = championRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("Champion non trovato"));
-        return toDto(c);
+        for (ChampionStatsSnapshot s : snapshots.get().values()) {
+            int i = s.indexOf(id);
+            if (i >= 0) return s.toDto(i);
+        }
+        throw new IllegalArgumentException("Champion non trovato");
     }
 
-    @Transactional(readOnly = true)
     public List<ChampionDto> getByRole(String role) {
-        return championRepository.findByRoleIgnoreCase(role).stream().map(this::toDto).collect(Collectors.toList());
+        return getByRole(role, null);
+    }
+
+    public List<ChampionDto> getByRole(String role, String region) {
+        ChampionStatsSnapshot s = getSnapshot(region);
+        int[] positions = s.indexesOfRole(role);
+        List<ChampionDto> result = new ArrayList<>(positions.length);
+        for (int i : positions) {
+            result.add(s.toDto(i));
+        }
+        return result;
+    }
+
+    /** Snapshot delle statistiche globali */
+    public ChampionStatsSnapshot getSnapshot() {
+        return snapshots.get().get(Champion.GLOBAL_REGION);
+    }
+
+    /** Snapshot della regione, in O(1); null o vuoto indica le statistiche globali */
+    public ChampionStatsSnapshot getSnapshot(String region) {
+        return snapshots.get().get(regionKey(region));
     }
 
-    private ChampionDto toDto(Champion c) {
-        // Parsing robusto: rimuove simboli %, spazi e converte virgole in punti
-        Double win = parsePercent(c.getWinRate());
-        Double pick = parsePercent(c.getPickRate());
-        Double ban = parsePercent(c.getBanRate());
-        Integer games = parseInt(c.getMatches());
-
-        return ChampionDto.builder()
-                .id(c.getId())
-                .name(c.getName())
-                .role(c.getRole())
-                .winRate(win)
-                .pickRate(pick)
-                .banRate(ban)
-                .matches(games)
-                .build();
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        refresh();
     }
 
-    // Converte stringhe come "52,3%" o "52.3" in Double 52.3
-    private Double parsePercent(String s) {
-        if (s == null) return 0.0;
-        String cleaned = s.trim().replace("%", "").replace(",", ".");
-        try { return Double.parseDouble(cleaned); } catch (NumberFormatException e) { return 0.0; }
+    @Scheduled(fixedDelayString = "${champions.snapshot.refresh-ms:900000}",
+            initialDelayString = "${champions.snapshot.refresh-ms:900000}")
+    public void scheduledRefresh() {
+        refresh();
     }
 
-    // Converte stringhe numeriche in Integer
-    private Integer parseInt(String s) {
-        if (s == null) return 0;
-        String cleaned = s.trim().replaceAll("[^0-9]", "");
-        try { return Integer.parseInt(cleaned); } catch (NumberFormatException e) { return 0; }
+    /** Ricarica le statistiche dal database e pubblica i nuovi snapshot; restituisce quello globale */
+    public ChampionStatsSnapshot refresh() {
+        refreshLock.lock();
+        try {
+            List<Champion> rows = championRepository.findAllOrderedByWinRate();
+            // Versione monotona anche tra riavvii, usata dai client come marcatore di cambiamento
+            long version = Math.max(getSnapshot().version() + 1, System.currentTimeMillis());
+            // Righe divise per regione mantenendo l'ordine per win rate
+            Map<String, List<Champion>> byRegion = new HashMap<>();
+            byRegion.put(Champion.GLOBAL_REGION, new ArrayList<>());
+            for (Region region : Region.values()) {
+                byRegion.put(region.name(), new ArrayList<>());
+            }
+            for (Champion c : rows) {
+                byRegion.computeIfAbsent(c.getRegion(), k -> new ArrayList<>()).add(c);
+            }
+            Map<String, ChampionStatsSnapshot> next = new HashMap<>();
+            byRegion.forEach((region, list) -> next.put(region, ChampionStatsSnapshot.of(region, list, version)));
+            snapshots.set(Map.copyOf(next));
+            ChampionStatsSnapshot global = next.get(Champion.GLOBAL_REGION);
+            log.info("Snapshot campioni aggiornati: {} righe ({} globali), versione {}", rows.size(), global.size(), version);
+            events.publishEvent(new ChampionSnapshotRefreshedEvent(version));
+            return global;
+        } finally {
+            refreshLock.unlock();
+        }
     }
 }
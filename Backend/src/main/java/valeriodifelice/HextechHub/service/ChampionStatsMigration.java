@@ -0,0 +1,107 @@
+package valeriodifelice.HextechHub.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import valeriodifelice.HextechHub.model.Champion;
+import valeriodifelice.HextechHub.repository.ChampionRepository;
+
+import java.util.List;
+
+/**
+ * Migrazione una tantum delle statistiche campioni dalle colonne testuali a quelle numeriche.
+ * Lavora a blocchi, ciascuno nella propria breve transazione, così da bloccare
+ * solo le righe del blocco corrente e mai l'intera tabella.
+ * All'avvio rimuove anche il vincolo (name, role) precedente alle regioni e gli indici per ruolo non più usati
+ * (le letture passano dagli snapshot in memoria), che ddl-auto=update non elimina.
+ */
+@Service
+public class ChampionStatsMigration {
+    private static final Logger log = LoggerFactory.getLogger(ChampionStatsMigration.class);
+
+    private static final String LEGACY_NATURAL_KEY = "uk_champions_name_role";
+    private static final List<String> UNUSED_INDEXES = List.of("idx_champions_role", "idx_champions_role_winrate");
+
+    private final ChampionRepository championRepository;
+    private final ChampionService championService;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbc;
+
+    @Value("${champions.migration.enabled:true}")
+    private boolean enabled;
+
+    @Value("${champions.migration.batch-size:500}")
+    private int batchSize;
+
+    public ChampionStatsMigration(ChampionRepository championRepository,
+                                  ChampionService championService,
+                                  TransactionTemplate transactionTemplate,
+                                  JdbcTemplate jdbc) {
+        this.championRepository = championRepository;
+        this.championService = championService;
+        this.transactionTemplate = transactionTemplate;
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * Sincrona, prima che l'applicazione accetti import: con il vincolo (name, role) ancora presente
+     * l'import regionale di un campione già in GLOBAL fallirebbe.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void dropLegacyNaturalKey() {
+        jdbc.execute("alter table champions drop constraint if exists " + LEGACY_NATURAL_KEY);
+    }
+
+    /** Nessuna query filtra per ruolo sul database: gli indici costerebbero solo a ogni scrittura */
+    @EventListener(ApplicationReadyEvent.class)
+    public void dropUnusedIndexes() {
+        for (String index : UNUSED_INDEXES) {
+            jdbc.execute("drop index if exists " + index);
+        }
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        if (enabled) {
+            migrateAll();
+        }
+    }
+
+    /** Converte tutte le righe non ancora migrate; restituisce il numero di righe aggiornate */
+    public int migrateAll() {
+        int total = 0;
+        long lastId = 0L;
+        while (true) {
+            final long after = lastId;
+            List<Champion> chunk = transactionTemplate.execute(tx -> {
+                List<Champion> rows = championRepository
+                        .findByIdGreaterThanAndWinRatePctIsNullOrderByIdAsc(after, PageRequest.of(0, batchSize));
+                rows.forEach(ChampionStatsMigration::convert);
+                return rows;
+            });
+            if (chunk == null || chunk.isEmpty()) break;
+            total += chunk.size();
+            lastId = chunk.get(chunk.size() - 1).getId();
+        }
+        if (total > 0) {
+            log.info("Migrate {} righe campioni alle colonne numeriche", total);
+            championService.refresh();
+        }
+        return total;
+    }
+
+    private static void convert(Champion c) {
+        c.setWinRatePct(ChampionStatsParser.parsePercent(c.getWinRate()));
+        c.setPickRatePct(ChampionStatsParser.parsePercent(c.getPickRate()));
+        c.setBanRatePct(ChampionStatsParser.parsePercent(c.getBanRate()));
+        c.setMatchesCount(ChampionStatsParser.parseInt(c.getMatches()));
+    }
+}
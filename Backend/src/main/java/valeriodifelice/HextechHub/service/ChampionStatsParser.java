@@ -0,0 +1,55 @@
+package valeriodifelice.HextechHub.service;
+
+import java.util.regex.Pattern;
+
+/** Conversione delle statistiche testuali (formato del crawler) in valori numerici */
+public final class ChampionStatsParser {
+
+    // Percentuale come "52,3%", "52.3" o "7": solo cifre, separatore decimale e % finale facoltativo
+    private static final Pattern STRICT_PERCENT = Pattern.compile("\\d+(?:[.,]\\d+)?%?");
+    // Conteggio come "11.500", "12,345" o "1 200": cifre con separatori delle migliaia
+    private static final Pattern STRICT_COUNT = Pattern.compile("\\d+(?:[., ']\\d{3})*");
+
+    private ChampionStatsParser() {
+    }
+
+    // Converte stringhe come "52,3%" o "52.3" in 52.3
+    public static double parsePercent(String s) {
+        if (s == null) return 0.0;
+        String cleaned = s.trim().replace("%", "").replace(",", ".");
+        try { return Double.parseDouble(cleaned); } catch (NumberFormatException e) { return 0.0; }
+    }
+
+    // Converte stringhe numeriche (anche con separatori) in int
+    public static int parseInt(String s) {
+        if (s == null) return 0;
+        String cleaned = s.trim().replaceAll("[^0-9]", "");
+        try { return Integer.parseInt(cleaned); } catch (NumberFormatException e) { return 0; }
+    }
+
+    /** Come parsePercent, ma rifiuta valori non numerici o fuori da [0, 100] invece di convertirli in 0 */
+    public static double parsePercentStrict(String s) {
+        String value = s == null ? "" : s.trim();
+        if (!STRICT_PERCENT.matcher(value).matches()) {
+            throw new IllegalArgumentException("percentuale non valida: '" + value + "'");
+        }
+        double parsed = parsePercent(value);
+        if (parsed > 100.0) {
+            throw new IllegalArgumentException("percentuale oltre 100: '" + value + "'");
+        }
+        return parsed;
+    }
+
+    /** Come parseInt, ma rifiuta valori non numerici, negativi o oltre Integer.MAX_VALUE */
+    public static int parseIntStrict(String s) {
+        String value = s == null ? "" : s.trim();
+        if (!STRICT_COUNT.matcher(value).matches()) {
+            throw new IllegalArgumentException("numero non valido: '" + value + "'");
+        }
+        try {
+            return Integer.parseInt(value.replaceAll("[^0-9]", ""));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("numero troppo grande: '" + value + "'");
+        }
+    }
+}
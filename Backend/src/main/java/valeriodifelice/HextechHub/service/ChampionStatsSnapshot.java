@@ -0,0 +1,181 @@
+package valeriodifelice.HextechHub.service;
+
+import valeriodifelice.HextechHub.dto.ChampionDto;
+import valeriodifelice.HextechHub.model.Champion;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Fotografia immutabile delle statistiche campioni di una regione.
+ * I valori sono già convertiti in array primitivi allineati per indice, nell'ordine
+ * restituito dal database (win rate decrescente), con indici precalcolati per ruolo e per id.
+ */
+public final class ChampionStatsSnapshot {
+
+    private static final String UNKNOWN_ROLE_VARIANT = "NONE";
+
+    private final long version;
+    private final Instant loadedAt;
+    private final String region;
+    private final long[] ids;
+    private final String[] names;
+    private final String[] roles;
+    private final double[] winRates;
+    private final double[] pickRates;
+    private final double[] banRates;
+    private final int[] matches;
+
+    private final Map<String, int[]> roleIndex;
+    // Id ordinati e relative posizioni, per la ricerca binaria
+    private final long[] sortedIds;
+    private final int[] sortedPositions;
+
+    private ChampionStatsSnapshot(long version, Instant loadedAt, String region, long[] ids, String[] names, String[] roles,
+                                  double[] winRates, double[] pickRates, double[] banRates, int[] matches) {
+        this.version = version;
+        this.loadedAt = loadedAt;
+        this.region = region;
+        this.ids = ids;
+        this.names = names;
+        this.roles = roles;
+        this.winRates = winRates;
+        this.pickRates = pickRates;
+        this.banRates = banRates;
+        this.matches = matches;
+        this.roleIndex = buildRoleIndex(roles);
+        Integer[] order = new Integer[ids.length];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Long.compare(ids[a], ids[b]));
+        this.sortedIds = new long[ids.length];
+        this.sortedPositions = new int[ids.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedIds[i] = ids[order[i]];
+            sortedPositions[i] = order[i];
+        }
+    }
+
+    static ChampionStatsSnapshot empty() {
+        return new ChampionStatsSnapshot(0L, Instant.EPOCH, Champion.GLOBAL_REGION, new long[0], new String[0], new String[0],
+                new double[0], new double[0], new double[0], new int[0]);
+    }
+
+    /** Costruisce lo snapshot delle statistiche globali mantenendo l'ordine delle righe ricevute */
+    public static ChampionStatsSnapshot of(List<Champion> champions, long version) {
+        return of(Champion.GLOBAL_REGION, champions, version);
+    }
+
+    /** Costruisce lo snapshot di una regione mantenendo l'ordine delle righe ricevute */
+    public static ChampionStatsSnapshot of(String region, List<Champion> champions, long version) {
+        int n = champions.size();
+        long[] ids = new long[n];
+        String[] names = new String[n];
+        String[] roles = new String[n];
+        double[] win = new double[n];
+        double[] pick = new double[n];
+        double[] ban = new double[n];
+        int[] games = new int[n];
+        for (int i = 0; i < n; i++) {
+            Champion c = champions.get(i);
+            ids[i] = c.getId();
+            names[i] = c.getName();
+            roles[i] = c.getRole();
+            // Colonne numeriche se già migrate, altrimenti parsing una sola volta per refresh
+            win[i] = c.getWinRatePct() != null ? c.getWinRatePct() : ChampionStatsParser.parsePercent(c.getWinRate());
+            pick[i] = c.getPickRatePct() != null ? c.getPickRatePct() : ChampionStatsParser.parsePercent(c.getPickRate());
+            ban[i] = c.getBanRatePct() != null ? c.getBanRatePct() : ChampionStatsParser.parsePercent(c.getBanRate());
+            games[i] = c.getMatchesCount() != null ? c.getMatchesCount() : ChampionStatsParser.parseInt(c.getMatches());
+        }
+        return new ChampionStatsSnapshot(version, Instant.now(), region, ids, names, roles, win, pick, ban, games);
+    }
+
+    private static Map<String, int[]> buildRoleIndex(String[] roles) {
+        Map<String, List<Integer>> grouped = new HashMap<>();
+        for (int i = 0; i < roles.length; i++) {
+            String key = roleKey(roles[i]);
+            grouped.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+        }
+        Map<String, int[]> index = new HashMap<>();
+        grouped.forEach((role, positions) -> index.put(role, positions.stream().mapToInt(Integer::intValue).toArray()));
+        return Collections.unmodifiableMap(index);
+    }
+
+    /** Chiave normalizzata del ruolo, usata nell'indice e come variante nelle cache */
+    public static String roleKey(String role) {
+        return role == null ? "" : role.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public long version() { return version; }
+
+    public Instant loadedAt() { return loadedAt; }
+
+    public String region() { return region; }
+
+    public int size() { return ids.length; }
+
+    /** Posizione del campione nello snapshot, -1 se assente */
+    public int indexOf(long id) {
+        int i = Arrays.binarySearch(sortedIds, id);
+        return i < 0 ? -1 : sortedPositions[i];
+    }
+
+    /**
+     * Variante di cache per il ruolo: i ruoli assenti danno tutti la stessa risposta vuota
+     * e condividono una sola voce ("NONE", mai prodotto da roleKey), così i parametri arbitrari non fanno crescere le cache.
+     */
+    public String roleVariant(String role) {
+        String key = roleKey(role);
+        return roleIndex.containsKey(key) ? key : UNKNOWN_ROLE_VARIANT;
+    }
+
+    /** Ruoli presenti nello snapshot (normalizzati in minuscolo) */
+    public Set<String> roles() {
+        return roleIndex.keySet();
+    }
+
+    /** Impronta delle statistiche alle posizioni indicate: cambia se cambia almeno un valore */
+    public long fingerprint(int[] positions) {
+        long h = 1125899906842597L;
+        for (int i : positions) {
+            h = 31 * h + ids[i];
+            h = 31 * h + Double.doubleToLongBits(winRates[i]);
+            h = 31 * h + Double.doubleToLongBits(pickRates[i]);
+            h = 31 * h + Double.doubleToLongBits(banRates[i]);
+            h = 31 * h + matches[i];
+        }
+        return h;
+    }
+
+    /** Posizioni dei campioni con il ruolo indicato (case-insensitive) */
+    public int[] indexesOfRole(String role) {
+        return roleIndex.getOrDefault(roleKey(role), new int[0]);
+    }
+
+    public long id(int i) { return ids[i]; }
+    public String name(int i) { return names[i]; }
+    public String role(int i) { return roles[i]; }
+    public double winRate(int i) { return winRates[i]; }
+    public double pickRate(int i) { return pickRates[i]; }
+    public double banRate(int i) { return banRates[i]; }
+    public int matches(int i) { return matches[i]; }
+
+    public ChampionDto toDto(int i) {
+        return ChampionDto.builder()
+                .id(ids[i])
+                .name(names[i])
+                .role(roles[i])
+                .region(region)
+                .winRate(winRates[i])
+                .pickRate(pickRates[i])
+                .banRate(banRates[i])
+                .matches(matches[i])
+                .build();
+    }
+}
@@ -0,0 +1,109 @@
+package valeriodifelice.HextechHub.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionTemplate;
+import valeriodifelice.HextechHub.repository.ArticleRepository;
+import valeriodifelice.HextechHub.repository.ArticleSearchRow;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Ricerca full-text su indice invertito in processo: usata con H2 e nei test, o quando Postgres non è disponibile.
+ * Le ricerche prendono il lock in lettura, le modifiche in scrittura.
+ */
+public class InMemoryArticleSearchIndex implements ArticleSearchIndex {
+    private static final Logger log = LoggerFactory.getLogger(InMemoryArticleSearchIndex.class);
+
+    private final ArticleRepository articleRepository;
+    private final TransactionTemplate readTransaction;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    // Serializza lettura dal database e applicazione, così gli aggiornamenti dello stesso articolo non si scavalcano
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private ArticleInvertedIndex index = new ArticleInvertedIndex();
+    // Articoli modificati durante una ricostruzione, da riapplicare sul nuovo indice
+    private Set<Long> changedDuringRebuild;
+
+    public InMemoryArticleSearchIndex(ArticleRepository articleRepository, TransactionTemplate readTransaction) {
+        this.articleRepository = articleRepository;
+        this.readTransaction = readTransaction;
+    }
+
+    @Override
+    public Result search(String query, int offset, int limit) {
+        Set<String> terms = SearchText.queryTerms(query);
+        ArticleInvertedIndex.Matches matches;
+        lock.readLock().lock();
+        try {
+            matches = index.search(terms, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Hit> hits = matches.top().stream().map(d -> new Hit(d.id(), d.score())).toList();
+        return new Result(hits, matches.total());
+    }
+
+    @Override
+    public void update(Long articleId) {
+        updateLock.lock();
+        try {
+            ArticleSearchRow row = readTransaction.execute(tx -> articleRepository.findSearchRowById(articleId).orElse(null));
+            lock.writeLock().lock();
+            try {
+                if (changedDuringRebuild != null) changedDuringRebuild.add(articleId);
+                apply(index, articleId, row);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    @Override
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = new HashSet<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            ArticleInvertedIndex fresh = new ArticleInvertedIndex();
+            readTransaction.executeWithoutResult(tx -> {
+                try (Stream<ArticleSearchRow> rows = articleRepository.streamPublishedSearchRows()) {
+                    rows.forEach(r -> fresh.put(r.getId(), r.getTitle(), r.getExcerpt(), r.getContent()));
+                }
+            });
+            Set<Long> changed;
+            lock.writeLock().lock();
+            try {
+                changed = changedDuringRebuild;
+                changedDuringRebuild = null;
+                index = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            // Le scritture avvenute durante la lettura potrebbero mancare o essere superate nel nuovo indice
+            changed.forEach(this::update);
+            log.info("Indice di ricerca articoli in memoria costruito: {} articoli", fresh.size());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private static void apply(ArticleInvertedIndex target, Long articleId, ArticleSearchRow row) {
+        if (row == null || !row.isPublished()) {
+            target.remove(articleId);
+        } else {
+            target.put(row.getId(), row.getTitle(), row.getExcerpt(), row.getContent());
+        }
+    }
+}
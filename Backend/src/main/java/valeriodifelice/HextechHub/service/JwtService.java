@@ -1,28 +1,72 @@
 package valeriodifelice.HextechHub.service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 
-/** Servizio per generazione e validazione JWT */
+/**
+ * Servizio per generazione e validazione JWT.
+ * Chiave e parser sono costruiti una sola volta; i claims dei token già verificati
+ * restano in una cache limitata, indicizzata per hash del token, fino alla loro scadenza.
+ */
 @Service
 public class JwtService {
 
+    private static final String JWT_CACHE_DESCRIPTION = "Token JWT verificati, per esito della cache dei claims";
+
     @Value("${security.jwt.secret}")
     private String secret;
 
     @Value("${security.jwt.expiration:3600000}")
     private long expirationMs;
 
+    @Value("${security.jwt.cache-size:10000}")
+    private int cacheSize;
+
+    private Key signKey;
+    private JwtParser parser;
+    private final Map<String, CachedClaims> claimsCache = new ConcurrentHashMap<>();
+    private final Timer parseTimer;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+
+    public JwtService(MeterRegistry meterRegistry) {
+        this.parseTimer = Timer.builder("auth.jwt.parse")
+                .description("Verifica della firma e lettura dei claims JWT (solo token non in cache)")
+                .register(meterRegistry);
+        this.cacheHits = Counter.builder("auth.jwt.cache").tag("result", "hit")
+                .description(JWT_CACHE_DESCRIPTION).register(meterRegistry);
+        this.cacheMisses = Counter.builder("auth.jwt.cache").tag("result", "miss")
+                .description(JWT_CACHE_DESCRIPTION).register(meterRegistry);
+    }
+
+    @PostConstruct
+    void init() {
+        signKey = getSignKey();
+        parser = Jwts.parserBuilder().setSigningKey(signKey).build();
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -40,25 +84,64 @@ public class JwtService {
                 .setSubject(username)
                 .setIssuedAt(now)
                 .setExpiration(expiry)
-                .signWith(getSignKey(), SignatureAlgorithm.HS256)
+                .signWith(signKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public boolean isTokenValid(String token, String username) {
-        final String subject = extractUsername(token);
-        return subject.equals(username) && !isTokenExpired(token);
+        final Claims claims = parseValidClaims(token);
+        return claims != null && username.equals(claims.getSubject());
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractClaim(token, Claims::getExpiration).before(new Date());
+    /** Claims di un token con firma valida e non scaduto, altrimenti null. Una sola verifica per token. */
+    public Claims parseValidClaims(String token) {
+        try {
+            return parseToken(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
     }
 
     private Claims parseToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        final long now = System.currentTimeMillis();
+        final String key = hash(token);
+        CachedClaims cached = claimsCache.get(key);
+        if (cached != null) {
+            if (cached.expiresAt() > now) {
+                cacheHits.increment();
+                return cached.claims();
+            }
+            claimsCache.remove(key, cached);
+        }
+        cacheMisses.increment();
+        // Lancia ExpiredJwtException/SignatureException come prima se il token non è valido
+        Claims claims = parseTimer.record(() -> parser.parseClaimsJws(token).getBody());
+        Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            if (claimsCache.size() >= cacheSize) evict(now);
+            claimsCache.put(key, new CachedClaims(claims, expiration.getTime()));
+        }
+        return claims;
+    }
+
+    // Rimuove i token scaduti; se la cache resta piena libera un blocco di voci arbitrarie
+    private void evict(long now) {
+        claimsCache.values().removeIf(c -> c.expiresAt() <= now);
+        int toRemove = claimsCache.size() - cacheSize + Math.max(1, cacheSize / 10);
+        Iterator<String> it = claimsCache.keySet().iterator();
+        while (toRemove-- > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 non disponibile", e);
+        }
     }
 
     private Key getSignKey() {
@@ -67,4 +150,7 @@ public class JwtService {
         if (s.length() < 32) s = (s + "00000000000000000000000000000000").substring(0, 32);
         return Keys.hmacShaKeyFor(s.getBytes());
     }
-}
\ No newline at end of file
+
+    private record CachedClaims(Claims claims, long expiresAt) {
+    }
+}
@@ -0,0 +1,327 @@
+package valeriodifelice.HextechHub.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import valeriodifelice.HextechHub.event.OutboxAppendedEvent;
+import valeriodifelice.HextechHub.event.OutboxMessage;
+import valeriodifelice.HextechHub.event.OutboxSubscriber;
+import valeriodifelice.HextechHub.model.OutboxEvent;
+import valeriodifelice.HextechHub.repository.OutboxEventRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Consegna in background degli eventi dell'outbox ai sottoscrittori, a blocchi e in ordine di scrittura.
+ * Ogni blocco viene prenotato con un lease (available_at spostato in avanti) in una breve transazione;
+ * la consegna avviene fuori transazione e l'esito è salvato in una seconda transazione.
+ * Se l'istanza si ferma a metà, il lease scade e gli eventi vengono riconsegnati (almeno una volta).
+ * Questo vale per i sottoscrittori con stato condiviso, di cui ogni evento raggiunge una sola istanza.
+ * I sottoscrittori con stato in memoria (perInstance) ricevono invece tutti gli eventi su ogni istanza:
+ * un cursore locale scorre la tabella senza blocchi e rilegge per un po' gli id saltati, che possono
+ * appartenere a transazioni committate dopo quelle con id maggiore.
+ */
+@Service
+public class OutboxDispatcher {
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final int MAX_GAPS = 100;
+
+    private final OutboxEventRepository outboxRepository;
+    private final List<OutboxSubscriber> sharedSubscribers;
+    private final List<OutboxSubscriber> instanceSubscribers;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private final AtomicBoolean wakeUpRequested = new AtomicBoolean();
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong parked = new AtomicLong();
+    // createdAt (epoch ms) dell'evento più vecchio non consegnato, 0 se la coda è vuota
+    private final AtomicLong oldestPendingMs = new AtomicLong();
+    private final Counter dispatched;
+    private final Timer deliveryLag;
+
+    // Consegna per istanza, sotto drainLock: ultimo id letto, id saltati da rileggere e consegne da ritentare
+    private long instanceCursor;
+    private final Map<Long, Instant> instanceGaps = new HashMap<>();
+    private final Map<Long, Integer> instanceRetries = new HashMap<>();
+
+    @Value("${outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${outbox.lease-ms:60000}")
+    private long leaseMs;
+
+    @Value("${outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${outbox.retry-backoff-ms:1000}")
+    private long retryBackoffMs;
+
+    @Value("${outbox.max-backoff-ms:300000}")
+    private long maxBackoffMs;
+
+    // Per quanto un id saltato viene riletto prima di considerarlo una transazione annullata
+    @Value("${outbox.gap-timeout-ms:60000}")
+    private long gapTimeoutMs;
+
+    @Value("${outbox.retention-hours:168}")
+    private long retentionHours;
+
+    public OutboxDispatcher(OutboxEventRepository outboxRepository, List<OutboxSubscriber> subscribers,
+                            TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.sharedSubscribers = subscribers.stream().filter(s -> !s.perInstance()).toList();
+        this.instanceSubscribers = subscribers.stream().filter(OutboxSubscriber::perInstance).toList();
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("outbox.pending", pending, AtomicLong::get)
+                .description("Eventi dell'outbox in attesa di consegna")
+                .register(meterRegistry);
+        Gauge.builder("outbox.parked", parked, AtomicLong::get)
+                .description("Eventi dell'outbox che hanno esaurito i tentativi")
+                .register(meterRegistry);
+        Gauge.builder("outbox.lag", oldestPendingMs, v -> v.get() == 0 ? 0 : Math.max(0, System.currentTimeMillis() - v.get()) / 1000.0)
+                .description("Età in secondi dell'evento più vecchio non ancora consegnato")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.dispatched = Counter.builder("outbox.dispatched")
+                .description("Eventi dell'outbox consegnati a tutti i sottoscrittori condivisi").register(meterRegistry);
+        this.deliveryLag = Timer.builder("outbox.delivery.lag")
+                .description("Tempo tra la scrittura di un evento e la sua consegna completa").register(meterRegistry);
+    }
+
+    /** Gli eventi precedenti all'avvio sono già nello stato che i sottoscrittori in memoria ricostruiscono dal database */
+    @PostConstruct
+    void initInstanceCursor() {
+        instanceCursor = outboxRepository.findMaxId();
+    }
+
+    /** Dopo il commit di una scrittura: consegna subito, sul thread @Async e non su quello della richiesta */
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppended(OutboxAppendedEvent event) {
+        wakeUp();
+    }
+
+    /** Rete di sicurezza per eventi rimandati, lease scaduti e risvegli persi; aggiorna le metriche di ritardo */
+    @Scheduled(fixedDelayString = "${outbox.poll-ms:1000}")
+    public void poll() {
+        drain();
+        refreshMetrics();
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.cleanup-ms:3600000}", initialDelayString = "${outbox.cleanup-ms:3600000}")
+    public void purgeDispatched() {
+        Instant before = Instant.now().minus(retentionHours, ChronoUnit.HOURS);
+        Integer removed = transactionTemplate.execute(tx -> outboxRepository.deleteDispatchedBefore(before));
+        if (removed != null && removed > 0) {
+            log.info("Outbox: rimossi {} eventi consegnati prima di {}", removed, before);
+        }
+    }
+
+    /** Consegna tutti gli eventi pronti, attendendo un'eventuale consegna in corso; restituisce gli eventi elaborati */
+    public int drain() {
+        drainLock.lock();
+        try {
+            wakeUpRequested.set(false);
+            return drainBatches() + broadcastBatches();
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    private void wakeUp() {
+        wakeUpRequested.set(true);
+        // Se una consegna è già in corso, sarà lei a rileggere la coda
+        while (wakeUpRequested.get() && drainLock.tryLock()) {
+            try {
+                while (wakeUpRequested.getAndSet(false)) {
+                    drainBatches();
+                    broadcastBatches();
+                }
+            } finally {
+                drainLock.unlock();
+            }
+        }
+    }
+
+    private int drainBatches() {
+        int total = 0;
+        while (true) {
+            List<OutboxEvent> batch = claim();
+            if (batch.isEmpty()) break;
+            for (OutboxEvent event : batch) {
+                deliver(event);
+            }
+            transactionTemplate.executeWithoutResult(tx -> outboxRepository.saveAll(batch));
+            total += batch.size();
+            if (batch.size() < batchSize) break;
+        }
+        return total;
+    }
+
+    private List<OutboxEvent> claim() {
+        List<OutboxEvent> batch = transactionTemplate.execute(tx -> {
+            Instant now = Instant.now();
+            List<OutboxEvent> events = outboxRepository.lockPending(now, maxAttempts, PageRequest.of(0, batchSize));
+            Instant leaseUntil = now.plusMillis(leaseMs);
+            events.forEach(e -> e.setAvailableAt(leaseUntil));
+            return events;
+        });
+        return batch == null ? List.of() : batch;
+    }
+
+    private void deliver(OutboxEvent event) {
+        OutboxMessage message = toMessage(event);
+        Set<String> delivered = parseDelivered(event.getDelivered());
+        String error = null;
+        for (OutboxSubscriber subscriber : sharedSubscribers) {
+            if (!subscriber.supports(event.getType()) || delivered.contains(subscriber.name())) continue;
+            try {
+                subscriber.handle(message);
+                delivered.add(subscriber.name());
+            } catch (RuntimeException e) {
+                meterRegistry.counter("outbox.delivery.failures", "subscriber", subscriber.name()).increment();
+                log.warn("Outbox: consegna dell'evento {} a {} fallita: {}", event.getId(), subscriber.name(), e.toString());
+                error = subscriber.name() + ": " + e;
+            }
+        }
+        event.setDelivered(delivered.isEmpty() ? null : String.join(",", delivered));
+        Instant now = Instant.now();
+        if (error == null) {
+            event.setDispatchedAt(now);
+            event.setLastError(null);
+            dispatched.increment();
+            deliveryLag.record(Duration.between(event.getCreatedAt(), now).toNanos(), TimeUnit.NANOSECONDS);
+            return;
+        }
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        event.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        // Backoff esponenziale limitato; gli altri sottoscrittori non ricevono di nuovo l'evento
+        long backoff = Math.min(maxBackoffMs, retryBackoffMs << Math.min(attempts - 1, 20));
+        event.setAvailableAt(now.plusMillis(backoff));
+        if (attempts >= maxAttempts) {
+            log.error("Outbox: evento {} ({}) sospeso dopo {} tentativi", event.getId(), event.getType(), attempts);
+        }
+    }
+
+    /** Consegna ai sottoscrittori in memoria tutti gli eventi dopo il cursore, anche se già consegnati altrove */
+    private int broadcastBatches() {
+        if (instanceSubscribers.isEmpty()) return 0;
+        int total = recheck();
+        while (true) {
+            List<OutboxEvent> batch = outboxRepository.findAfter(instanceCursor, PageRequest.of(0, batchSize));
+            if (batch.isEmpty() && instanceCursor > 0 && outboxRepository.findMaxId() < instanceCursor) {
+                // Tabella svuotata o ricreata: la sequenza degli id è ripartita
+                log.info("Outbox: id ripartiti sotto il cursore {}, rilettura dall'inizio", instanceCursor);
+                instanceCursor = 0;
+                instanceGaps.clear();
+                continue;
+            }
+            Instant gapDeadline = Instant.now().plusMillis(gapTimeoutMs);
+            for (OutboxEvent event : batch) {
+                // Salti più ampi (sequenza riavviata o con cache) non sono transazioni ancora in corso
+                if (event.getId() - instanceCursor <= MAX_GAPS) {
+                    for (long id = instanceCursor + 1; id < event.getId() && instanceGaps.size() < MAX_GAPS; id++) {
+                        instanceGaps.put(id, gapDeadline);
+                    }
+                }
+                instanceCursor = event.getId();
+                broadcast(event, 0);
+            }
+            total += batch.size();
+            if (batch.size() < batchSize) return total;
+        }
+    }
+
+    /** Rilegge gli id saltati non ancora scaduti e gli eventi la cui consegna in memoria è fallita */
+    private int recheck() {
+        if (instanceGaps.isEmpty() && instanceRetries.isEmpty()) return 0;
+        Instant now = Instant.now();
+        instanceGaps.values().removeIf(deadline -> deadline.isBefore(now));
+        Map<Long, Integer> retries = new HashMap<>(instanceRetries);
+        instanceRetries.clear();
+        Set<Long> ids = new HashSet<>(instanceGaps.keySet());
+        ids.addAll(retries.keySet());
+        if (ids.isEmpty()) return 0;
+        List<OutboxEvent> events = new ArrayList<>(outboxRepository.findAllById(ids));
+        events.sort(Comparator.comparing(OutboxEvent::getId));
+        for (OutboxEvent event : events) {
+            instanceGaps.remove(event.getId());
+            broadcast(event, retries.getOrDefault(event.getId(), 0));
+        }
+        return events.size();
+    }
+
+    private void broadcast(OutboxEvent event, int attempts) {
+        OutboxMessage message = toMessage(event);
+        boolean failed = false;
+        for (OutboxSubscriber subscriber : instanceSubscribers) {
+            if (!subscriber.supports(event.getType())) continue;
+            try {
+                subscriber.handle(message);
+            } catch (RuntimeException e) {
+                failed = true;
+                meterRegistry.counter("outbox.delivery.failures", "subscriber", subscriber.name()).increment();
+                log.warn("Outbox: consegna dell'evento {} a {} fallita: {}", event.getId(), subscriber.name(), e.toString());
+            }
+        }
+        if (!failed) return;
+        if (attempts + 1 < maxAttempts) {
+            // Ritentato al giro successivo, per tutti i sottoscrittori dell'istanza: handle tollera ripetizioni
+            instanceRetries.put(event.getId(), attempts + 1);
+        } else {
+            log.error("Outbox: evento {} ({}) non consegnato in memoria dopo {} tentativi",
+                    event.getId(), event.getType(), attempts + 1);
+        }
+    }
+
+    private static OutboxMessage toMessage(OutboxEvent event) {
+        return new OutboxMessage(event.getId(), event.getType(), event.getAggregateId(),
+                event.getIdempotencyKey(), event.getCreatedAt());
+    }
+
+    private static Set<String> parseDelivered(String delivered) {
+        Set<String> names = new LinkedHashSet<>();
+        if (delivered != null && !delivered.isBlank()) {
+            names.addAll(Arrays.asList(delivered.split(",")));
+        }
+        return names;
+    }
+
+    private void refreshMetrics() {
+        pending.set(outboxRepository.countPending(maxAttempts));
+        parked.set(outboxRepository.countParked(maxAttempts));
+        Instant oldest = outboxRepository.findOldestPendingCreatedAt(maxAttempts);
+        oldestPendingMs.set(oldest == null ? 0 : oldest.toEpochMilli());
+    }
+}
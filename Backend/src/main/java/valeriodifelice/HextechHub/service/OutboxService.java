@@ -0,0 +1,40 @@
+package valeriodifelice.HextechHub.service;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import valeriodifelice.HextechHub.event.OutboxAppendedEvent;
+import valeriodifelice.HextechHub.model.OutboxEvent;
+import valeriodifelice.HextechHub.repository.OutboxEventRepository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/** Scrittura degli eventi nell'outbox, sempre dentro la transazione della modifica che li genera */
+@Service
+public class OutboxService {
+
+    private final OutboxEventRepository outboxRepository;
+    private final ApplicationEventPublisher events;
+
+    public OutboxService(OutboxEventRepository outboxRepository, ApplicationEventPublisher events) {
+        this.outboxRepository = outboxRepository;
+        this.events = events;
+    }
+
+    /** Accoda un evento: viene salvato solo se la transazione chiamante va a buon fine */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public OutboxEvent append(String type, Long aggregateId) {
+        Instant now = Instant.now();
+        OutboxEvent event = outboxRepository.save(OutboxEvent.builder()
+                .type(type)
+                .aggregateId(aggregateId)
+                .idempotencyKey(UUID.randomUUID().toString())
+                .createdAt(now)
+                .availableAt(now)
+                .build());
+        events.publishEvent(new OutboxAppendedEvent(event.getId()));
+        return event;
+    }
+}
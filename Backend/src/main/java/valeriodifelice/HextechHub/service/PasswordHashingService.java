@@ -0,0 +1,108 @@
+package valeriodifelice.HextechHub.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import valeriodifelice.HextechHub.exception.TooManyRequestsException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Esecutore dedicato e limitato per l'hashing BCrypt (CPU-bound).
+ * I thread della richiesta restano in attesa del risultato, ma solo fino a
+ * threads + coda alla volta: oltre, la richiesta viene rifiutata subito con 429,
+ * così un picco di login non può occupare l'intero pool di Tomcat.
+ */
+@Service
+public class PasswordHashingService {
+
+    private final ThreadPoolExecutor executor;
+    private final long waitTimeoutMs;
+    private final long retryAfterSeconds;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public PasswordHashingService(@Value("${security.bcrypt.threads:0}") int threads,
+                                  @Value("${security.bcrypt.queue-capacity:64}") int queueCapacity,
+                                  @Value("${security.bcrypt.wait-timeout-ms:5000}") long waitTimeoutMs,
+                                  @Value("${security.bcrypt.retry-after-seconds:1}") long retryAfterSeconds,
+                                  MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        BlockingQueue<Runnable> queue = queueCapacity > 0
+                ? new ArrayBlockingQueue<>(queueCapacity)
+                : new SynchronousQueue<>();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, queue, r -> {
+            Thread t = new Thread(r, "bcrypt-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        Gauge.builder("auth.hash.queue.depth", executor, e -> e.getQueue().size())
+                .description("Operazioni BCrypt in attesa di un thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Operazioni BCrypt in esecuzione")
+                .register(meterRegistry);
+        this.encodeTimer = Timer.builder("auth.hash.latency").tag("operation", "encode")
+                .description("Durata dell'hashing BCrypt").register(meterRegistry);
+        this.matchesTimer = Timer.builder("auth.hash.latency").tag("operation", "matches")
+                .description("Durata della verifica BCrypt").register(meterRegistry);
+        this.rejected = Counter.builder("auth.hash.rejected")
+                .description("Operazioni BCrypt rifiutate per saturazione").register(meterRegistry);
+    }
+
+    public String encode(Callable<String> hashing) {
+        return submit(hashing, encodeTimer);
+    }
+
+    public boolean matches(Callable<Boolean> verification) {
+        return submit(verification, matchesTimer);
+    }
+
+    private <T> T submit(Callable<T> task, Timer timer) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timer.recordCallable(task));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new TooManyRequestsException("Troppe richieste di autenticazione", retryAfterSeconds);
+        }
+        try {
+            return future.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new TooManyRequestsException("Troppe richieste di autenticazione", retryAfterSeconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Hashing interrotto", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) throw re;
+            throw new IllegalStateException("Hashing fallito", cause);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,120 @@
+package valeriodifelice.HextechHub.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import valeriodifelice.HextechHub.repository.ArticleRepository;
+import valeriodifelice.HextechHub.repository.ArticleSearchRow;
+
+import java.util.List;
+
+/**
+ * Ricerca full-text su PostgreSQL: colonna tsvector pesata (titolo A, riassunto B, contenuto C) con indice GIN.
+ * Il vettore è calcolato dai testi passati come parametri, perché il contenuto (@Lob) è salvato come large object.
+ */
+public class PostgresArticleSearchIndex implements ArticleSearchIndex {
+    private static final Logger log = LoggerFactory.getLogger(PostgresArticleSearchIndex.class);
+
+    private static final String VECTOR =
+            "setweight(to_tsvector(cast(:config as regconfig), coalesce(:title, '')), 'A') || " +
+            "setweight(to_tsvector(cast(:config as regconfig), coalesce(:excerpt, '')), 'B') || " +
+            "setweight(to_tsvector(cast(:config as regconfig), left(coalesce(:content, ''), :maxContent)), 'C')";
+
+    private static final String SEARCH =
+            "select a.id, ts_rank_cd(a.search_vector, q) as rank, count(*) over () as total " +
+            "from articles a, websearch_to_tsquery(cast(:config as regconfig), :query) q " +
+            "where a.published = true and a.search_vector @@ q " +
+            "order by rank desc, a.id desc limit :limit offset :offset";
+
+    private static final String COUNT =
+            "select count(*) from articles a, websearch_to_tsquery(cast(:config as regconfig), :query) q " +
+            "where a.published = true and a.search_vector @@ q";
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final ArticleRepository articleRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String config;
+    private final int batchSize;
+    // Limite di caratteri del contenuto nel vettore (tsvector ha un tetto di 1 MB)
+    private final int maxContentChars;
+
+    public PostgresArticleSearchIndex(NamedParameterJdbcTemplate jdbc, ArticleRepository articleRepository,
+                                      TransactionTemplate transactionTemplate, String config,
+                                      int batchSize, int maxContentChars) {
+        this.jdbc = jdbc;
+        this.articleRepository = articleRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.config = config;
+        this.batchSize = batchSize;
+        this.maxContentChars = maxContentChars;
+    }
+
+    @Override
+    public Result search(String query, int offset, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("config", config)
+                .addValue("query", query)
+                .addValue("limit", limit)
+                .addValue("offset", offset);
+        long[] total = {0};
+        List<Hit> hits = jdbc.query(SEARCH, params, (rs, i) -> {
+            total[0] = rs.getLong("total");
+            return new Hit(rs.getLong("id"), rs.getDouble("rank"));
+        });
+        if (hits.isEmpty() && offset > 0) {
+            // Pagina oltre l'ultimo risultato: il totale va contato a parte
+            Long count = jdbc.queryForObject(COUNT, params, Long.class);
+            total[0] = count == null ? 0 : count;
+        }
+        return new Result(hits, total[0]);
+    }
+
+    @Override
+    public boolean shared() {
+        return true;
+    }
+
+    @Override
+    public void update(Long articleId) {
+        // Chiamato dopo il commit della scrittura: serve una transazione propria
+        transactionTemplate.executeWithoutResult(tx ->
+                articleRepository.findSearchRowById(articleId).ifPresent(this::write));
+    }
+
+    /**
+     * Crea colonna e indice GIN se mancanti. Chiamato in modo sincrono alla creazione del bean (SearchConfig),
+     * così ricerche e aggiornamenti non arrivano mai prima della colonna.
+     */
+    public void createSchema() {
+        jdbc.getJdbcTemplate().execute("alter table articles add column if not exists search_vector tsvector");
+        jdbc.getJdbcTemplate().execute(
+                "create index if not exists idx_articles_search on articles using gin (search_vector)");
+    }
+
+    /** Calcola il vettore delle righe che non lo hanno (articoli precedenti alla colonna) */
+    @Override
+    public void rebuild() {
+        List<Long> missing = jdbc.queryForList(
+                "select id from articles where search_vector is null order by id", new MapSqlParameterSource(), Long.class);
+        for (int from = 0; from < missing.size(); from += batchSize) {
+            List<Long> chunk = missing.subList(from, Math.min(from + batchSize, missing.size()));
+            transactionTemplate.executeWithoutResult(tx -> chunk.forEach(id ->
+                    articleRepository.findSearchRowById(id).ifPresent(this::write)));
+        }
+        if (!missing.isEmpty()) {
+            log.info("Vettori di ricerca calcolati per {} articoli", missing.size());
+        }
+    }
+
+    private void write(ArticleSearchRow row) {
+        jdbc.update("update articles set search_vector = " + VECTOR + " where id = :id", new MapSqlParameterSource()
+                .addValue("config", config)
+                .addValue("title", row.getTitle())
+                .addValue("excerpt", row.getExcerpt())
+                .addValue("content", row.getContent())
+                .addValue("maxContent", maxContentChars)
+                .addValue("id", row.getId()));
+    }
+}
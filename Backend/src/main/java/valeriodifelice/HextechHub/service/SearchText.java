@@ -0,0 +1,112 @@
+package valeriodifelice.HextechHub.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/** Tokenizzazione e snippet evidenziati condivisi dai motori di ricerca articoli */
+public final class SearchText {
+
+    private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{N}]+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    // Token più corti non vengono indicizzati né cercati
+    static final int MIN_TOKEN_LENGTH = 2;
+
+    private SearchText() {
+    }
+
+    /** Forma normalizzata di una parola: minuscolo e senza accenti */
+    public static String normalize(String word) {
+        String lower = word.toLowerCase(Locale.ROOT);
+        if (lower.chars().allMatch(c -> c < 128)) return lower;
+        return DIACRITICS.matcher(Normalizer.normalize(lower, Normalizer.Form.NFD)).replaceAll("");
+    }
+
+    /** Token normalizzati del testo, nell'ordine in cui compaiono (con ripetizioni) */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) return tokens;
+        Matcher m = WORD.matcher(text);
+        while (m.find()) {
+            if (m.end() - m.start() >= MIN_TOKEN_LENGTH) {
+                tokens.add(normalize(m.group()));
+            }
+        }
+        return tokens;
+    }
+
+    /** Termini distinti di una query */
+    public static Set<String> queryTerms(String query) {
+        return new LinkedHashSet<>(tokenize(query));
+    }
+
+    /**
+     * Frammento di al massimo maxChars caratteri attorno alla prima occorrenza di un termine,
+     * con HTML escapato e termini racchiusi in &lt;mark&gt;. Null se nessun termine compare nel testo.
+     */
+    public static String snippet(String text, Set<String> terms, int maxChars) {
+        if (text == null || text.isEmpty()) return null;
+        Matcher m = WORD.matcher(text);
+        int first = -1;
+        while (m.find()) {
+            if (terms.contains(normalize(m.group()))) {
+                first = m.start();
+                break;
+            }
+        }
+        if (first < 0) return null;
+        int start = wordStart(text, Math.max(0, first - maxChars / 3));
+        int end = Math.min(text.length(), start + maxChars);
+        StringBuilder out = new StringBuilder(maxChars + 32);
+        if (start > 0) out.append('…');
+        int last = start;
+        m.region(start, end);
+        while (m.find()) {
+            if (m.end() - m.start() >= MIN_TOKEN_LENGTH && terms.contains(normalize(m.group()))) {
+                escape(out, text, last, m.start());
+                out.append("<mark>");
+                escape(out, text, m.start(), m.end());
+                out.append("</mark>");
+                last = m.end();
+            }
+        }
+        escape(out, text, last, end);
+        if (end < text.length()) out.append('…');
+        return out.toString();
+    }
+
+    /** Inizio testo escapato e troncato, per i risultati senza termini nel testo mostrato */
+    public static String plain(String text, int maxChars) {
+        if (text == null) return null;
+        int end = Math.min(text.length(), maxChars);
+        StringBuilder out = new StringBuilder(end + 1);
+        escape(out, text, 0, end);
+        if (end < text.length()) out.append('…');
+        return out.toString();
+    }
+
+    private static int wordStart(String text, int from) {
+        int i = from;
+        while (i > 0 && Character.isLetterOrDigit(text.charAt(i - 1))) i--;
+        return i;
+    }
+
+    private static void escape(StringBuilder out, String text, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package valeriodifelice.HextechHub.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import valeriodifelice.HextechHub.config.CacheNames;
+import valeriodifelice.HextechHub.event.ArticleChangedEvent;
+import valeriodifelice.HextechHub.event.ChampionSnapshotRefreshedEvent;
+import valeriodifelice.HextechHub.event.OutboxMessage;
+import valeriodifelice.HextechHub.event.OutboxSubscriber;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache delle risposte JSON più richieste già serializzate e compresse, per endpoint e variante,
+ * nelle cache nominate del CacheManager (limiti e TTL in app.cache.specs).
+ * La chiave include la versione dei dati, quindi una voce non può mai essere servita per un'altra versione;
+ * le scritture su articoli (consegnate dall'outbox a ogni istanza) e il refresh dei campioni
+ * svuotano inoltre le cache interessate.
+ */
+@Component
+public class SerializedResponseCache implements OutboxSubscriber {
+
+    private final ObjectMapper objectMapper;
+    private final CacheManager cacheManager;
+
+    public SerializedResponseCache(ObjectMapper objectMapper, CacheManager cacheManager) {
+        this.objectMapper = objectMapper;
+        this.cacheManager = cacheManager;
+    }
+
+    /** Risposta in cache per variante e versione, serializzata da body se assente */
+    public CachedResponse get(String cacheName, String variant, String version, Supplier<?> body) {
+        Cache cache = cache(cacheName);
+        String key = key(variant, version);
+        CachedResponse cached = cache.get(key, CachedResponse.class);
+        if (cached != null) {
+            return cached;
+        }
+        byte[] json = serialize(body.get());
+        CachedResponse fresh = new CachedResponse(version, json, gzip(json));
+        cache.put(key, fresh);
+        return fresh;
+    }
+
+    public boolean contains(String cacheName, String variant, String version) {
+        return cache(cacheName).get(key(variant, version)) != null;
+    }
+
+    /** Svuotamento locale dopo il commit, così l'istanza che scrive serve subito la lista aggiornata */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        cache(CacheNames.ARTICLE_SUMMARIES).clear();
+    }
+
+    @Override
+    public String name() {
+        return "article-summaries-cache";
+    }
+
+    @Override
+    public boolean supports(String type) {
+        return OutboxMessage.ARTICLE_CHANGED.equals(type);
+    }
+
+    @Override
+    public boolean perInstance() {
+        return true;
+    }
+
+    @Override
+    public void handle(OutboxMessage message) {
+        cache(CacheNames.ARTICLE_SUMMARIES).clear();
+    }
+
+    @EventListener
+    public void onChampionsRefreshed(ChampionSnapshotRefreshedEvent event) {
+        cache(CacheNames.CHAMPIONS).clear();
+        cache(CacheNames.TIER_LISTS).clear();
+    }
+
+    private Cache cache(String name) {
+        return Objects.requireNonNull(cacheManager.getCache(name), () -> "Cache non configurata: " + name);
+    }
+
+    private static String key(String variant, String version) {
+        return variant + '@' + version;
+    }
+
+    private byte[] serialize(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Serializzazione risposta fallita", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
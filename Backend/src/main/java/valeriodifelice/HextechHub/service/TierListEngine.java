@@ -0,0 +1,85 @@
+package valeriodifelice.HextechHub.service;
+
+import valeriodifelice.HextechHub.dto.TierEntryDto;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Calcolo della tier list per ruolo a partire dallo snapshot delle statistiche.
+ * Il win rate viene "ristretto" verso la media del ruolo in proporzione alla confidenza
+ * (partite giocate), poi combinato con pick e ban rate; le fasce derivano dallo z-score.
+ */
+public final class TierListEngine {
+
+    // Partite a cui la confidenza vale 0.5: sotto questa soglia il win rate pesa poco
+    static final double PRIOR_MATCHES = 2000.0;
+    static final double WIN_WEIGHT = 1.0;
+    static final double PICK_WEIGHT = 0.1;
+    static final double BAN_WEIGHT = 0.05;
+
+    private TierListEngine() {
+    }
+
+    /** Calcola punteggi e fasce per le posizioni di un ruolo, ordinati per punteggio decrescente */
+    public static List<TierEntryDto> computeRole(ChampionStatsSnapshot s, int[] positions) {
+        int n = positions.length;
+        if (n == 0) return List.of();
+
+        double totalMatches = 0;
+        double weightedWin = 0;
+        double plainWin = 0;
+        for (int p : positions) {
+            int m = s.matches(p);
+            totalMatches += m;
+            weightedWin += s.winRate(p) * m;
+            plainWin += s.winRate(p);
+        }
+        double meanWin = totalMatches > 0 ? weightedWin / totalMatches : plainWin / n;
+
+        double[] scores = new double[n];
+        double sum = 0;
+        double sumSq = 0;
+        for (int k = 0; k < n; k++) {
+            int p = positions[k];
+            double m = s.matches(p);
+            double confidence = m / (m + PRIOR_MATCHES);
+            double adjustedWin = meanWin + (s.winRate(p) - meanWin) * confidence;
+            double score = (adjustedWin - meanWin) * WIN_WEIGHT
+                    + confidence * (s.pickRate(p) * PICK_WEIGHT + s.banRate(p) * BAN_WEIGHT);
+            scores[k] = score;
+            sum += score;
+            sumSq += score * score;
+        }
+        double mean = sum / n;
+        double std = Math.sqrt(Math.max(0.0, sumSq / n - mean * mean));
+
+        List<TierEntryDto> entries = new ArrayList<>(n);
+        for (int k = 0; k < n; k++) {
+            int p = positions[k];
+            double z = std > 1e-9 ? (scores[k] - mean) / std : 0.0;
+            entries.add(TierEntryDto.builder()
+                    .id(s.id(p))
+                    .name(s.name(p))
+                    .role(s.role(p))
+                    .winRate(s.winRate(p))
+                    .pickRate(s.pickRate(p))
+                    .banRate(s.banRate(p))
+                    .matches(s.matches(p))
+                    .score(scores[k])
+                    .tier(tierOf(z))
+                    .build());
+        }
+        entries.sort(Comparator.comparingDouble(TierEntryDto::getScore).reversed());
+        return entries;
+    }
+
+    static String tierOf(double z) {
+        if (z >= 1.0) return "S";
+        if (z >= 0.25) return "A";
+        if (z >= -0.25) return "B";
+        if (z >= -1.0) return "C";
+        return "D";
+    }
+}
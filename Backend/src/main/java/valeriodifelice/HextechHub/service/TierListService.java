@@ -0,0 +1,67 @@
+package valeriodifelice.HextechHub.service;
+
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Service;
+import valeriodifelice.HextechHub.config.MetricsConfig;
+import valeriodifelice.HextechHub.dto.TierEntryDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tier list calcolata lato server, in cache per regione, ruolo e versione dello snapshot.
+ * Quando cambia lo snapshot vengono ricalcolati solo i ruoli le cui statistiche sono cambiate.
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class TierListService {
+
+    private final ChampionService championService;
+    private final Map<String, RoleTiers> cache = new ConcurrentHashMap<>();
+
+    public TierListService(ChampionService championService) {
+        this.championService = championService;
+    }
+
+    /** Tier list globale di un ruolo, o di tutti i ruoli se role è null */
+    public List<TierEntryDto> getTierList(String role) {
+        return getTierList(role, null);
+    }
+
+    /** Tier list di un ruolo (tutti se null) nella regione indicata (globale se null) */
+    public List<TierEntryDto> getTierList(String role, String region) {
+        ChampionStatsSnapshot snapshot = championService.getSnapshot(region);
+        if (role != null && !role.isBlank()) {
+            String roleKey = ChampionStatsSnapshot.roleKey(role);
+            // Ruolo assente: nessuna voce in cache per valori arbitrari del parametro
+            return snapshot.roles().contains(roleKey) ? tiersFor(snapshot, roleKey) : List.of();
+        }
+        List<TierEntryDto> all = new ArrayList<>(snapshot.size());
+        snapshot.roles().stream().sorted().forEach(key -> all.addAll(tiersFor(snapshot, key)));
+        return all;
+    }
+
+    private List<TierEntryDto> tiersFor(ChampionStatsSnapshot snapshot, String roleKey) {
+        String cacheKey = snapshot.region() + '|' + roleKey;
+        RoleTiers cached = cache.get(cacheKey);
+        if (cached != null && cached.version() == snapshot.version()) {
+            return cached.entries();
+        }
+        int[] positions = snapshot.indexesOfRole(roleKey);
+        long fingerprint = snapshot.fingerprint(positions);
+        List<TierEntryDto> entries;
+        if (cached != null && cached.fingerprint() == fingerprint) {
+            // Statistiche del ruolo invariate: si riusa il calcolo precedente
+            entries = cached.entries();
+        } else {
+            entries = List.copyOf(TierListEngine.computeRole(snapshot, positions));
+        }
+        cache.put(cacheKey, new RoleTiers(snapshot.version(), fingerprint, entries));
+        return entries;
+    }
+
+    private record RoleTiers(long version, long fingerprint, List<TierEntryDto> entries) {
+    }
+}
@@ -0,0 +1,29 @@
+package valeriodifelice.HextechHub.service;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import valeriodifelice.HextechHub.event.UserChangedEvent;
+import valeriodifelice.HextechHub.model.User;
+
+/**
+ * Listener JPA: ogni modifica o rimozione di un utente pubblica UserChangedEvent.
+ * L'invalidazione avviene dopo il commit (UserDetailsServiceImpl), non al flush:
+ * una lettura concorrente prima del commit rimetterebbe in cache i dati vecchi.
+ */
+@Component
+public class UserCacheInvalidationListener {
+
+    private final ApplicationEventPublisher events;
+
+    public UserCacheInvalidationListener(ApplicationEventPublisher events) {
+        this.events = events;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(User user) {
+        events.publishEvent(new UserChangedEvent(user.getLoadedEmail(), user.getEmail()));
+    }
+}
@@ -1,34 +1,86 @@
 package valeriodifelice.HextechHub.service;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import valeriodifelice.HextechHub.config.CacheNames;
+import valeriodifelice.HextechHub.event.UserChangedEvent;
 import valeriodifelice.HextechHub.model.User;
 import valeriodifelice.HextechHub.repository.UserRepository;
 
+import java.io.Serializable;
 import java.util.List;
 
-/** Implementazione di UserDetailsService basata su JPA */
+/**
+ * Implementazione di UserDetailsService basata su JPA, con cache opzionale nella cache nominata "users"
+ * (dimensione e TTL in app.cache.specs.users), sempre in processo: contiene l'hash della password
+ * e non va mai in un backend condiviso (CacheNames.LOCAL_ONLY).
+ * La cache conserva solo dati immutabili: ogni chiamata restituisce un nuovo UserDetails,
+ * perché Spring Security cancella le credenziali dell'oggetto dopo il login.
+ */
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final Cache cache;
 
-    public UserDetailsServiceImpl(UserRepository userRepository) {
+    @Value("${security.user-cache.enabled:false}")
+    private boolean cacheEnabled;
+
+    public UserDetailsServiceImpl(UserRepository userRepository, CacheManager cacheManager) {
         this.userRepository = userRepository;
+        this.cache = cacheManager.getCache(CacheNames.USERS);
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         String key = username == null ? "" : username.trim().toLowerCase();
-        User user = userRepository.findByEmail(key)
+        if (cacheEnabled) {
+            CachedUser cached = cache.get(key, CachedUser.class);
+            if (cached != null) {
+                return cached.toUserDetails();
+            }
+            CachedUser loaded = CachedUser.of(findUser(key));
+            cache.put(key, loaded);
+            return loaded.toUserDetails();
+        }
+        return CachedUser.of(findUser(key)).toUserDetails();
+    }
+
+    /** Invalida l'utente in cache, da chiamare quando cambiano ruolo o password */
+    public void evict(String email) {
+        if (email != null) {
+            cache.evict(email.trim().toLowerCase());
+        }
+    }
+
+    /** Dopo il commit invalida sia la vecchia sia la nuova email dell'utente modificato */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        evict(event.previousEmail());
+        evict(event.email());
+    }
+
+    private User findUser(String email) {
+        return userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("Utente non trovato"));
-        return new org.springframework.security.core.userdetails.User(
-                user.getEmail(),
-                user.getPassword(),
-                List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()))
-        );
+    }
+
+    private record CachedUser(String email, String password, String authority) implements Serializable {
+
+        static CachedUser of(User user) {
+            return new CachedUser(user.getEmail(), user.getPassword(), "ROLE_" + user.getRole().name());
+        }
+
+        UserDetails toUserDetails() {
+            return new org.springframework.security.core.userdetails.User(
+                    email, password, List.of(new SimpleGrantedAuthority(authority)));
+        }
     }
 }
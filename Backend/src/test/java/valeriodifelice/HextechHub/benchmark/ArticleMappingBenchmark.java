@@ -0,0 +1,100 @@
+package valeriodifelice.HextechHub.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import valeriodifelice.HextechHub.dto.ArticleDto;
+import valeriodifelice.HextechHub.dto.ArticleSummaryDto;
+import valeriodifelice.HextechHub.model.Article;
+import valeriodifelice.HextechHub.model.User;
+import valeriodifelice.HextechHub.service.ArticleMapper;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Mappatura articolo -> DTO (split CSV delle categorie) e serializzazione Jackson delle liste */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArticleMappingBenchmark {
+
+    @Param({"20", "500"})
+    public int size;
+
+    private Article article;
+    private List<ArticleDto> dtos;
+    private List<ArticleSummaryDto> summaries;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setup() {
+        // Stessa configurazione dei moduli (es. JavaTimeModule) dell'ObjectMapper di Spring Boot
+        objectMapper = JsonMapper.builder().findAndAddModules().build();
+        User author = User.builder().id(1L).email("author@example.com").build();
+        String content = "Lorem ipsum dolor sit amet. ".repeat(200);
+        article = Article.builder()
+                .id(1L)
+                .title("Patch notes")
+                .content(content)
+                .excerpt(content.substring(0, 240))
+                .categories("meta, guide ,patch,tier-list,,jungle")
+                .published(true)
+                .author(author)
+                .createdAt(Instant.now())
+                .updatedAt(Instant.now())
+                .build();
+        dtos = new ArrayList<>(size);
+        summaries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ArticleDto dto = ArticleMapper.toDto(article);
+            dtos.add(dto);
+            summaries.add(ArticleSummaryDto.builder()
+                    .id((long) i)
+                    .title(dto.getTitle())
+                    .excerpt(dto.getExcerpt())
+                    .categories(dto.getCategories())
+                    .published(true)
+                    .authorEmail(dto.getAuthorEmail())
+                    .createdAt(dto.getCreatedAt())
+                    .updatedAt(dto.getUpdatedAt())
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public ArticleDto toDto() {
+        return ArticleMapper.toDto(article);
+    }
+
+    @Benchmark
+    public List<String> splitCategories() {
+        return ArticleMapper.splitCategories(article.getCategories());
+    }
+
+    @Benchmark
+    public byte[] serializeArticleDtos() throws Exception {
+        return objectMapper.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public byte[] serializeArticleSummaries() throws Exception {
+        return objectMapper.writeValueAsBytes(summaries);
+    }
+}
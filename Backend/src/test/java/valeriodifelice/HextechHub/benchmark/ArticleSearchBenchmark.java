@@ -0,0 +1,87 @@
+package valeriodifelice.HextechHub.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import valeriodifelice.HextechHub.service.ArticleInvertedIndex;
+import valeriodifelice.HextechHub.service.SearchText;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/** Latenza (percentili) della ricerca sull'indice in memoria con 100k articoli sintetici */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class ArticleSearchBenchmark {
+
+    @Param({"100000"})
+    public int articles;
+
+    private ArticleInvertedIndex index;
+    private String[] vocabulary;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        // Vocabolario con distribuzione zipfiana: pochi termini molto frequenti, molti rari
+        vocabulary = new String[5000];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = "t" + Integer.toString(i, 36);
+        }
+        index = new ArticleInvertedIndex();
+        for (int id = 1; id <= articles; id++) {
+            index.put(id, text(random, 8), text(random, 30), text(random, 300));
+        }
+    }
+
+    private String text(Random random, int words) {
+        StringBuilder sb = new StringBuilder(words * 6);
+        for (int i = 0; i < words; i++) {
+            sb.append(vocabulary[zipf(random)]).append(' ');
+        }
+        return sb.toString();
+    }
+
+    private int zipf(Random random) {
+        return (int) Math.min(vocabulary.length - 1, Math.floor(Math.pow(vocabulary.length, random.nextDouble())) - 1);
+    }
+
+    @Benchmark
+    public ArticleInvertedIndex.Matches commonTerm() {
+        return index.search(List.of(vocabulary[0]), 0, 20);
+    }
+
+    @Benchmark
+    public ArticleInvertedIndex.Matches twoCommonTerms() {
+        return index.search(List.of(vocabulary[0], vocabulary[1]), 0, 20);
+    }
+
+    @Benchmark
+    public ArticleInvertedIndex.Matches rareAndCommonTerm() {
+        return index.search(List.of(vocabulary[0], vocabulary[900]), 0, 20);
+    }
+
+    @Benchmark
+    public ArticleInvertedIndex.Matches deepPage() {
+        return index.search(List.of(vocabulary[3], vocabulary[7]), 980, 20);
+    }
+
+    @Benchmark
+    public String snippet() {
+        return SearchText.snippet("lorem ipsum " + vocabulary[10] + " dolor sit amet", SearchText.queryTerms(vocabulary[10]), 200);
+    }
+}
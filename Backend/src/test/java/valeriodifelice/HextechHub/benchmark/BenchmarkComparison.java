@@ -0,0 +1,66 @@
+package valeriodifelice.HextechHub.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Confronta due risultati JMH in formato JSON (baseline e corrente) e termina con errore
+ * se un benchmark peggiora oltre la soglia percentuale indicata.
+ * Uso: BenchmarkComparison baseline.json current.json [soglia%]
+ */
+public final class BenchmarkComparison {
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        File baselineFile = new File(args[0]);
+        File currentFile = new File(args[1]);
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        if (!baselineFile.isFile()) {
+            System.out.println("Nessuna baseline in " + baselineFile + ": confronto saltato");
+            return;
+        }
+        Map<String, Result> baseline = read(baselineFile);
+        Map<String, Result> current = read(currentFile);
+        int regressions = 0;
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result before = baseline.get(entry.getKey());
+            if (before == null) continue;
+            Result now = entry.getValue();
+            // In modalità throughput un punteggio più alto è migliore, negli altri modi è peggiore
+            double change = (now.score() - before.score()) / before.score() * 100.0;
+            double worse = now.higherIsBetter() ? -change : change;
+            String status = worse > threshold ? "REGRESSIONE" : "ok";
+            if (worse > threshold) regressions++;
+            System.out.printf("%-12s %-90s %12.3f -> %12.3f %s (%+.1f%%)%n",
+                    status, entry.getKey(), before.score(), now.score(), now.unit(), change);
+        }
+        if (regressions > 0) {
+            System.err.println(regressions + " benchmark peggiorati oltre il " + threshold + "%");
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Result> read(File file) throws Exception {
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(run.get("benchmark").asText());
+            JsonNode params = run.get("params");
+            if (params != null) {
+                params.fields().forEachRemaining(p -> key.append(' ').append(p.getKey()).append('=').append(p.getValue().asText()));
+            }
+            JsonNode metric = run.get("primaryMetric");
+            results.put(key.toString(), new Result(metric.get("score").asDouble(), metric.get("scoreUnit").asText(),
+                    "thrpt".equals(run.get("mode").asText())));
+        }
+        return results;
+    }
+
+    private record Result(double score, String unit, boolean higherIsBetter) {
+    }
+}
@@ -0,0 +1,73 @@
+package valeriodifelice.HextechHub.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import valeriodifelice.HextechHub.model.Champion;
+import valeriodifelice.HextechHub.service.ChampionStatsParser;
+import valeriodifelice.HextechHub.service.ChampionStatsSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Parsing delle statistiche testuali e costruzione dello snapshot / DTO campioni */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChampionStatsBenchmark {
+
+    private List<Champion> rows;
+    private ChampionStatsSnapshot snapshot;
+
+    @Setup
+    public void setup() {
+        rows = new ArrayList<>();
+        for (int i = 0; i < 850; i++) {
+            rows.add(Champion.builder()
+                    .id((long) i + 1)
+                    .name("Champion" + i)
+                    .role("MID")
+                    .winRate("5" + (i % 10) + ",3%")
+                    .pickRate((i % 20) + ".1%")
+                    .banRate((i % 30) + "%")
+                    .matches((i * 37) + ".123")
+                    .build());
+        }
+        snapshot = ChampionStatsSnapshot.of(rows, 1L);
+    }
+
+    @Benchmark
+    public double parsePercent() {
+        return ChampionStatsParser.parsePercent("52,37%");
+    }
+
+    @Benchmark
+    public int parseInt() {
+        return ChampionStatsParser.parseInt("12.345.678");
+    }
+
+    @Benchmark
+    public ChampionStatsSnapshot buildSnapshotFromStrings() {
+        return ChampionStatsSnapshot.of(rows, 1L);
+    }
+
+    @Benchmark
+    public void snapshotToDto(Blackhole bh) {
+        for (int i = 0; i < snapshot.size(); i++) {
+            bh.consume(snapshot.toDto(i));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package valeriodifelice.HextechHub.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import valeriodifelice.HextechHub.service.JwtService;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/** Generazione e validazione JWT, con e senza cache dei claims */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final int DISTINCT_TOKENS = 4096;
+
+    private JwtService cachedService;
+    private JwtService uncachedService;
+    private String token;
+    private String[] tokens;
+    private int next;
+
+    private static JwtService newService(int cacheSize) {
+        JwtService service = new JwtService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "secret", "12345678901234567890123456789012abcdabcdabcdabcd");
+        ReflectionTestUtils.setField(service, "expirationMs", 3_600_000L);
+        ReflectionTestUtils.setField(service, "cacheSize", cacheSize);
+        ReflectionTestUtils.invokeMethod(service, "init");
+        return service;
+    }
+
+    @Setup
+    public void setup() {
+        cachedService = newService(10_000);
+        // Cache di una sola voce su 4096 token distinti: ogni validazione verifica la firma
+        uncachedService = newService(1);
+        token = cachedService.generateToken("bench@example.com", Map.of("role", "USER"));
+        tokens = new String[DISTINCT_TOKENS];
+        for (int i = 0; i < DISTINCT_TOKENS; i++) {
+            tokens[i] = uncachedService.generateToken("bench" + i + "@example.com", Map.of("role", "USER"));
+        }
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachedService.generateToken("bench@example.com", Map.of("role", "USER"));
+    }
+
+    @Benchmark
+    public boolean isTokenValidCached() {
+        return cachedService.isTokenValid(token, "bench@example.com");
+    }
+
+    @Benchmark
+    public boolean isTokenValidUncached() {
+        int i = next++ & (DISTINCT_TOKENS - 1);
+        return uncachedService.isTokenValid(tokens[i], "bench" + i + "@example.com");
+    }
+}
@@ -0,0 +1,121 @@
+package valeriodifelice.HextechHub.benchmark;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import valeriodifelice.HextechHub.HextechHubApplication;
+import valeriodifelice.HextechHub.model.Article;
+import valeriodifelice.HextechHub.model.Champion;
+import valeriodifelice.HextechHub.model.Role;
+import valeriodifelice.HextechHub.model.User;
+import valeriodifelice.HextechHub.repository.ArticleRepository;
+import valeriodifelice.HextechHub.repository.ChampionRepository;
+import valeriodifelice.HextechHub.repository.UserRepository;
+import valeriodifelice.HextechHub.service.ChampionService;
+import valeriodifelice.HextechHub.service.JwtService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput end-to-end (filtri di sicurezza, controller, servizi, JPA su H2) tramite MockMvc.
+ * Usa la configurazione H2 di src/test/resources/application.properties.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class MockMvcThroughputBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private String token;
+
+    @Setup
+    public void setup() {
+        context = new SpringApplicationBuilder(HextechHubApplication.class)
+                .properties("server.port=0", "logging.level.root=WARN",
+                        "app.virtual-threads.pinning-detection=false",
+                        "spring.jpa.properties.hibernate.generate_statistics=false")
+                .run();
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context)
+                .apply(springSecurity())
+                .build();
+
+        UserRepository users = context.getBean(UserRepository.class);
+        User author = users.save(User.builder()
+                .email("bench@example.com").password("non-usata").fullName("Bench").role(Role.USER).build());
+        ArticleRepository articles = context.getBean(ArticleRepository.class);
+        List<Article> rows = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            rows.add(Article.builder().title("Articolo " + i).content("Contenuto ".repeat(100))
+                    .excerpt("Riassunto " + i).categories("meta,guide").published(true).author(author).build());
+        }
+        articles.saveAll(rows);
+        ChampionRepository champions = context.getBean(ChampionRepository.class);
+        List<Champion> championRows = new ArrayList<>();
+        String[] roles = {"TOP", "JUNGLE", "MID", "ADC", "SUPPORT"};
+        for (int i = 0; i < 170; i++) {
+            championRows.add(Champion.builder().name("Champion" + i).role(roles[i % roles.length])
+                    .winRate("50%").pickRate("5%").banRate("2%").matches("10000")
+                    .winRatePct(45 + i % 10.0).pickRatePct(5.0).banRatePct(2.0).matchesCount(10_000 + i).build());
+        }
+        champions.saveAll(championRows);
+        context.getBean(ChampionService.class).refresh();
+        token = context.getBean(JwtService.class).generateToken("bench@example.com", Map.of("role", "USER"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int publicFeed() throws Exception {
+        return mockMvc.perform(get("/api/articles/public/feed").param("size", "20")).andReturn().getResponse().getStatus();
+    }
+
+    @Benchmark
+    public int publicList() throws Exception {
+        return mockMvc.perform(get("/api/articles/public")).andReturn().getResponse().getStatus();
+    }
+
+    @Benchmark
+    public int champions() throws Exception {
+        return mockMvc.perform(get("/api/champions")).andReturn().getResponse().getStatus();
+    }
+
+    @Benchmark
+    public int tierList() throws Exception {
+        return mockMvc.perform(get("/api/meta/tier-list")).andReturn().getResponse().getStatus();
+    }
+
+    @Benchmark
+    public int mineAuthenticated() throws Exception {
+        return mockMvc.perform(get("/api/articles/mine").header("Authorization", "Bearer " + token))
+                .andReturn().getResponse().getStatus();
+    }
+}
@@ -0,0 +1,65 @@
+package valeriodifelice.HextechHub.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import valeriodifelice.HextechHub.model.Champion;
+import valeriodifelice.HextechHub.service.ChampionStatsSnapshot;
+import valeriodifelice.HextechHub.service.TierListEngine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/** Ricalcolo completo della tier list: 170 campioni x 5 ruoli (obiettivo < 1 ms) */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TierListBenchmark {
+
+    private static final String[] ROLES = {"TOP", "JUNGLE", "MID", "ADC", "SUPPORT"};
+    private static final int CHAMPIONS = 170;
+
+    private ChampionStatsSnapshot snapshot;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        List<Champion> rows = new ArrayList<>(CHAMPIONS * ROLES.length);
+        long id = 1;
+        for (String role : ROLES) {
+            for (int c = 0; c < CHAMPIONS; c++) {
+                rows.add(Champion.builder()
+                        .id(id++)
+                        .name("Champion" + c)
+                        .role(role)
+                        .winRatePct(45 + random.nextDouble() * 10)
+                        .pickRatePct(random.nextDouble() * 20)
+                        .banRatePct(random.nextDouble() * 30)
+                        .matchesCount(random.nextInt(50_000))
+                        .build());
+            }
+        }
+        snapshot = ChampionStatsSnapshot.of(rows, 1L);
+    }
+
+    @Benchmark
+    public void fullRecompute(Blackhole bh) {
+        for (String role : snapshot.roles()) {
+            bh.consume(TierListEngine.computeRole(snapshot, snapshot.indexesOfRole(role)));
+        }
+    }
+}
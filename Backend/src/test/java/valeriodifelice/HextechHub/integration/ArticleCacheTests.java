@@ -0,0 +1,144 @@
+package valeriodifelice.HextechHub.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import jakarta.persistence.EntityManagerFactory;
+import valeriodifelice.HextechHub.event.OutboxMessage;
+import valeriodifelice.HextechHub.model.OutboxEvent;
+import valeriodifelice.HextechHub.model.Role;
+import valeriodifelice.HextechHub.repository.ArticleRepository;
+import valeriodifelice.HextechHub.repository.OutboxEventRepository;
+import valeriodifelice.HextechHub.repository.UserRepository;
+import valeriodifelice.HextechHub.service.ArticleCache;
+import valeriodifelice.HextechHub.service.JwtService;
+import valeriodifelice.HextechHub.service.OutboxDispatcher;
+
+import java.time.Instant;
+
+/** Test integrazione cache degli articoli pubblicati per id */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ArticleCacheTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ArticleCache articleCache;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private OutboxEventRepository outboxRepository;
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @AfterEach
+    void cleanup() {
+        articleRepository.deleteAll();
+    }
+
+    private String tokenFor(String email) {
+        return TestUsers.token(userRepository, jwtService, email, Role.USER);
+    }
+
+    private String body(String title, boolean published) throws Exception {
+        return TestArticles.body(objectMapper, title, "Contenuto " + title, published);
+    }
+
+    private long create(String token, String title, boolean published) throws Exception {
+        return TestArticles.create(mockMvc, objectMapper, token, title, "Contenuto " + title, published);
+    }
+
+    @Test
+    void publishedArticle_servedFromCacheAndInvalidatedByWrites() throws Exception {
+        String author = tokenFor("cache-owner@example.com");
+        String reader = tokenFor("cache-reader@example.com");
+        long id = create(author, "Pubblicato", true);
+
+        mockMvc.perform(get("/api/articles/" + id).header("Authorization", "Bearer " + reader))
+                .andExpect(status().isOk());
+        assertTrue(articleCache.contains(id));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get("/api/articles/" + id).header("Authorization", "Bearer " + reader))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Pubblicato"));
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        mockMvc.perform(put("/api/articles/" + id)
+                        .header("Authorization", "Bearer " + author)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body("Modificato", true)))
+                .andExpect(status().isOk());
+        assertFalse(articleCache.contains(id));
+        mockMvc.perform(get("/api/articles/" + id).header("Authorization", "Bearer " + reader))
+                .andExpect(jsonPath("$.title").value("Modificato"));
+
+        // Ritirato dalla pubblicazione: la voce sparisce e i controlli di accesso tornano a valere
+        mockMvc.perform(put("/api/articles/" + id)
+                        .header("Authorization", "Bearer " + author)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body("Bozza", false)))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/articles/" + id).header("Authorization", "Bearer " + reader))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/articles/" + id).header("Authorization", "Bearer " + author))
+                .andExpect(status().isOk());
+        assertFalse(articleCache.contains(id));
+
+        mockMvc.perform(delete("/api/articles/" + id).header("Authorization", "Bearer " + author))
+                .andExpect(status().isNoContent());
+        assertFalse(articleCache.contains(id));
+    }
+
+    @Test
+    void publishedArticle_invalidatedByWriteOfAnotherInstance() throws Exception {
+        String author = tokenFor("cache-remote@example.com");
+        long id = create(author, "Remoto", true);
+        outboxDispatcher.drain();
+
+        mockMvc.perform(get("/api/articles/" + id).header("Authorization", "Bearer " + author))
+                .andExpect(status().isOk());
+        assertTrue(articleCache.contains(id));
+
+        // Modifica scritta da un'altra istanza: qui arriva solo l'evento dell'outbox, senza evento locale
+        Instant now = Instant.now();
+        outboxRepository.save(OutboxEvent.builder().type(OutboxMessage.ARTICLE_CHANGED).aggregateId(id)
+                .idempotencyKey("cache-remote-" + id).createdAt(now).availableAt(now).dispatchedAt(now).build());
+        outboxDispatcher.drain();
+        assertFalse(articleCache.contains(id));
+    }
+}
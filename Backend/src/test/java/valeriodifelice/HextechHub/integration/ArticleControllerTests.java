@@ -26,7 +26,8 @@ public class ArticleControllerTests {
         String signup = "{\n" +
                 "  \"email\": \"" + email + "\",\n" +
                 "  \"password\": \"Password123!\",\n" +
-                "  \"fullName\": \"User Test\"\n" +
+                "  \"fullName\": \"User Test\",\n" +
+                "  \"region\": \"EUW\"\n" +
                 "}";
         mockMvc.perform(post("/api/auth/signup")
                         .contentType(MediaType.APPLICATION_JSON)
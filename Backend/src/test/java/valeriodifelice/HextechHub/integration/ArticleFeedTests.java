@@ -0,0 +1,112 @@
+package valeriodifelice.HextechHub.integration;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import valeriodifelice.HextechHub.repository.ArticleRepository;
+
+/** Test integrazione feed pubblico paginato e streaming NDJSON */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ArticleFeedTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @AfterEach
+    void cleanup() {
+        articleRepository.deleteAll();
+    }
+
+    private String signupAndLogin(String email) throws Exception {
+        String signup = "{\n" +
+                "  \"email\": \"" + email + "\",\n" +
+                "  \"password\": \"Password123!\",\n" +
+                "  \"fullName\": \"User Test\",\n" +
+                "  \"region\": \"EUW\"\n" +
+                "}";
+        mockMvc.perform(post("/api/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(signup))
+                .andExpect(status().isOk());
+
+        String login = "{\n" +
+                "  \"email\": \"" + email + "\",\n" +
+                "  \"password\": \"Password123!\"\n" +
+                "}";
+        String token = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(login))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return token.replace("{\"token\":\"", "").replace("\"}", "");
+    }
+
+    private void publish(String token, String title) throws Exception {
+        String body = "{\n" +
+                "  \"title\": \"" + title + "\",\n" +
+                "  \"content\": \"Contenuto " + title + "\",\n" +
+                "  \"published\": true\n" +
+                "}";
+        mockMvc.perform(post("/api/articles")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("Authorization", "Bearer " + token)
+                        .content(body))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void feedAndStream_walkAllPublishedArticles() throws Exception {
+        String token = signupAndLogin("feed@example.com");
+        publish(token, "Primo");
+        publish(token, "Secondo");
+        publish(token, "Terzo");
+
+        String firstPage = mockMvc.perform(get("/api/articles/public/feed").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andExpect(jsonPath("$.items[0].content").doesNotExist())
+                .andReturn().getResponse().getContentAsString();
+
+        com.fasterxml.jackson.databind.ObjectMapper mapper = new com.fasterxml.jackson.databind.ObjectMapper();
+        String cursor = (String) mapper.readValue(firstPage, java.util.Map.class).get("nextCursor");
+
+        mockMvc.perform(get("/api/articles/public/feed").param("size", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.hasMore").value(false))
+                .andExpect(jsonPath("$.nextCursor").value(nullValue()));
+
+        mockMvc.perform(get("/api/articles/public/feed").param("cursor", "non-valido"))
+                .andExpect(status().isBadRequest());
+
+        MvcResult streamed = mockMvc.perform(get("/api/articles/public/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String ndjson = mockMvc.perform(asyncDispatch(streamed))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(3, ndjson.lines().count());
+    }
+}
@@ -0,0 +1,112 @@
+package valeriodifelice.HextechHub.integration;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import valeriodifelice.HextechHub.model.Role;
+import valeriodifelice.HextechHub.repository.ArticleRepository;
+import valeriodifelice.HextechHub.repository.UserRepository;
+import valeriodifelice.HextechHub.service.JwtService;
+import valeriodifelice.HextechHub.service.OutboxDispatcher;
+
+/** Test integrazione ricerca full-text (motore in memoria su H2) */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ArticleSearchTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @AfterEach
+    void cleanup() {
+        articleRepository.deleteAll();
+    }
+
+    private String token() {
+        return TestUsers.token(userRepository, jwtService, "search-author@example.com", Role.USER);
+    }
+
+    private long create(String token, String title, String content, boolean published) throws Exception {
+        long id = TestArticles.create(mockMvc, objectMapper, token, title, content, published);
+        // Gli indici sono aggiornati dall'outbox in background: consegna prima delle verifiche
+        outboxDispatcher.drain();
+        return id;
+    }
+
+    @Test
+    void search_returnsRankedHighlightedPagesAndFollowsWrites() throws Exception {
+        String token = token();
+        create(token, "Patch 14.1", "Nerf a Jinx e a Caitlyn nella corsia bot", true);
+        long guide = create(token, "Guida Jinx", "Rune e build per Jinx: come giocare Jinx", true);
+        create(token, "Bozza Jinx", "Non pubblicata", false);
+
+        mockMvc.perform(get("/api/articles/public/search").param("q", "jinx"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].article.title").value("Guida Jinx"))
+                .andExpect(jsonPath("$.items[0].article.content").doesNotExist())
+                .andExpect(jsonPath("$.items[0].snippet", containsString("<mark>Jinx</mark>")));
+
+        mockMvc.perform(get("/api/articles/public/search").param("q", "jinx caitlyn"))
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.items[0].article.title").value("Patch 14.1"));
+
+        mockMvc.perform(get("/api/articles/public/search").param("q", "jinx").param("size", "1").param("page", "1"))
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].article.title").value("Patch 14.1"));
+
+        mockMvc.perform(put("/api/articles/" + guide)
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TestArticles.body(objectMapper, "Guida Ahri", "Rune e build per Ahri", true)))
+                .andExpect(status().isOk());
+        outboxDispatcher.drain();
+        mockMvc.perform(get("/api/articles/public/search").param("q", "ahri rune"))
+                .andExpect(jsonPath("$.total").value(1));
+        mockMvc.perform(get("/api/articles/public/search").param("q", "jinx"))
+                .andExpect(jsonPath("$.total").value(1));
+
+        mockMvc.perform(delete("/api/articles/" + guide).header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+        outboxDispatcher.drain();
+        mockMvc.perform(get("/api/articles/public/search").param("q", "ahri"))
+                .andExpect(jsonPath("$.total").value(0));
+
+        mockMvc.perform(get("/api/articles/public/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+        // page * size andrebbe in overflow: rifiutata come ogni pagina oltre max-results
+        mockMvc.perform(get("/api/articles/public/search").param("q", "ahri")
+                        .param("page", String.valueOf(Integer.MAX_VALUE)).param("size", "20"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -24,7 +24,8 @@ public class AuthControllerTests {
         String signup = "{\n" +
                 "  \"email\": \"user@example.com\",\n" +
                 "  \"password\": \"Password123!\",\n" +
-                "  \"fullName\": \"User Test\"\n" +
+                "  \"fullName\": \"User Test\",\n" +
+                "  \"region\": \"EUW\"\n" +
                 "}";
 
         mockMvc.perform(post("/api/auth/signup")
@@ -0,0 +1,170 @@
+package valeriodifelice.HextechHub.integration;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import valeriodifelice.HextechHub.model.Article;
+import valeriodifelice.HextechHub.model.Category;
+import valeriodifelice.HextechHub.model.Role;
+import valeriodifelice.HextechHub.model.User;
+import valeriodifelice.HextechHub.repository.ArticleRepository;
+import valeriodifelice.HextechHub.repository.CategoryRepository;
+import valeriodifelice.HextechHub.repository.UserRepository;
+import valeriodifelice.HextechHub.service.ArticleCategoryMigration;
+import valeriodifelice.HextechHub.service.CategoryService;
+import valeriodifelice.HextechHub.service.JwtService;
+import valeriodifelice.HextechHub.service.OutboxDispatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/** Test integrazione categorie normalizzate e filtro per categoria tramite indice invertito */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class CategoryFilterTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ArticleCategoryMigration articleCategoryMigration;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @AfterEach
+    void cleanup() {
+        articleRepository.deleteAll();
+    }
+
+    private User author() {
+        return TestUsers.ensure(userRepository, "category-author@example.com", Role.USER);
+    }
+
+    private String token() {
+        return TestUsers.token(userRepository, jwtService, "category-author@example.com", Role.USER);
+    }
+
+    private long create(String token, String title, boolean published, String... categories) throws Exception {
+        long id = TestArticles.create(mockMvc, objectMapper, token, title, "Testo", published, categories);
+        // Gli indici sono aggiornati dall'outbox in background: consegna prima delle verifiche
+        outboxDispatcher.drain();
+        return id;
+    }
+
+    @Test
+    void categoryFilter_supportsAnyAndAllAndFollowsWrites() throws Exception {
+        String token = token();
+        create(token, "Guida mid", true, " Guide ", "mid");
+        long jungle = create(token, "Guida jungle", true, "guide", "jungle");
+        create(token, "Patch", true, "patch");
+        create(token, "Bozza", false, "guide", "mid");
+
+        mockMvc.perform(get("/api/articles/public").param("category", "guide"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].title", containsInAnyOrder("Guida mid", "Guida jungle")));
+        mockMvc.perform(get("/api/articles/public").param("category", "guide,MID").param("match", "all"))
+                .andExpect(jsonPath("$[*].title", containsInAnyOrder("Guida mid")))
+                .andExpect(jsonPath("$[0].categories[0]").value("guide"));
+        mockMvc.perform(get("/api/articles/public").param("category", "mid").param("category", "patch"))
+                .andExpect(jsonPath("$[*].title", containsInAnyOrder("Guida mid", "Patch")));
+        mockMvc.perform(get("/api/articles/public").param("category", "guide").param("match", "nessuno"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(put("/api/articles/" + jungle)
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TestArticles.body(objectMapper, "Guida jungle", "Testo", true, "jungle")))
+                .andExpect(status().isOk());
+        outboxDispatcher.drain();
+        mockMvc.perform(get("/api/articles/public").param("category", "guide"))
+                .andExpect(jsonPath("$", hasSize(1)));
+        mockMvc.perform(get("/api/articles/public").param("category", "jungle"))
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        mockMvc.perform(delete("/api/articles/" + jungle).header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+        outboxDispatcher.drain();
+        mockMvc.perform(get("/api/articles/public").param("category", "jungle"))
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void migration_backfillsCsvCategories() throws Exception {
+        articleRepository.save(Article.builder()
+                .title("Legacy")
+                .content("Testo")
+                .categories("Meta, tier-list,,meta")
+                .published(true)
+                .author(author())
+                .build());
+
+        assertEquals(1, articleCategoryMigration.migrateAll());
+        assertEquals(0, articleCategoryMigration.migrateAll());
+
+        mockMvc.perform(get("/api/articles/public").param("category", "meta,tier-list").param("match", "all"))
+                .andExpect(jsonPath("$[*].title", containsInAnyOrder("Legacy")))
+                .andExpect(jsonPath("$[0].categories", hasSize(2)));
+    }
+
+    @Test
+    void concurrentResolve_ofSameNewCategory_createsOneRowWithoutErrors() throws Exception {
+        List<String> names = List.of("gara-a", "gara-b", "gara-c");
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Set<Category>>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return categoryService.resolve(names);
+                }));
+            }
+            start.countDown();
+            for (Future<Set<Category>> result : results) {
+                assertEquals(3, result.get(10, TimeUnit.SECONDS).size());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(3, categoryRepository.findByNameIn(names).size());
+    }
+}
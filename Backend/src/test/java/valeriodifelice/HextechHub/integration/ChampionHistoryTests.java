@@ -0,0 +1,117 @@
+package valeriodifelice.HextechHub.integration;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.hasSize;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import valeriodifelice.HextechHub.model.Role;
+import valeriodifelice.HextechHub.repository.ChampionRepository;
+import valeriodifelice.HextechHub.repository.ChampionStatsRollupRepository;
+import valeriodifelice.HextechHub.repository.UserRepository;
+import valeriodifelice.HextechHub.service.ChampionService;
+import valeriodifelice.HextechHub.service.JwtService;
+
+/** Test integrazione storico per patch, trend e variazioni tra patch */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ChampionHistoryTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ChampionRepository championRepository;
+
+    @Autowired
+    private ChampionStatsRollupRepository rollupRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ChampionService championService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @AfterEach
+    void cleanup() {
+        jdbc.update("delete from champion_stats_history");
+        rollupRepository.deleteAll();
+        championRepository.deleteAll();
+        championService.refresh();
+    }
+
+    private void ingest(String patch, String date, String ahriWin, String ahriMatches, String jinxWin) throws Exception {
+        String admin = TestUsers.token(userRepository, jwtService, "history-admin@example.com", Role.ADMIN);
+        mockMvc.perform(post("/api/admin/champions/ingest")
+                        .param("patch", patch)
+                        .param("date", date)
+                        .header("Authorization", "Bearer " + admin)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\":\"Ahri\",\"role\":\"MID\",\"winrate\":\"" + ahriWin + "\",\"pickrate\":\"8%\",\"banrate\":\"2%\",\"matches\":\"" + ahriMatches + "\"}," +
+                                "{\"name\":\"Jinx\",\"role\":\"ADC\",\"winrate\":\"" + jinxWin + "\",\"pickrate\":\"11%\",\"banrate\":\"5%\",\"matches\":\"2000\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.patch").value(patch));
+    }
+
+    @Test
+    void ingestWithPatch_buildsRollupsForTrendAndDeltas() throws Exception {
+        ingest("14.9", "2024-05-01", "50%", "1000", "52%");
+        ingest("14.9", "2024-05-02", "53%", "3000", "51%");
+        // Un secondo import nello stesso giorno sostituisce la rilevazione, senza contarla due volte
+        ingest("14.9", "2024-05-02", "54%", "3000", "51%");
+        ingest("14.10", "2024-05-15", "49%", "4000", "53%");
+
+        mockMvc.perform(get("/api/champions/trend").param("name", "ahri"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].patch").value("14.9"))
+                .andExpect(jsonPath("$[0].samples").value(2))
+                .andExpect(jsonPath("$[0].firstDay").value("2024-05-01"))
+                .andExpect(jsonPath("$[0].lastDay").value("2024-05-02"))
+                // Media pesata sulle partite: (50*1000 + 54*3000) / 4000
+                .andExpect(jsonPath("$[0].winRate", closeTo(53.0, 1e-9)))
+                .andExpect(jsonPath("$[0].matches").value(3000))
+                .andExpect(jsonPath("$[1].patch").value("14.10"))
+                .andExpect(jsonPath("$[1].winRate", closeTo(49.0, 1e-9)));
+
+        mockMvc.perform(get("/api/meta/patch-deltas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].name").value("Jinx"))
+                .andExpect(jsonPath("$[0].fromPatch").value("14.9"))
+                .andExpect(jsonPath("$[0].toPatch").value("14.10"))
+                .andExpect(jsonPath("$[0].winRateDelta", closeTo(1.5, 1e-9)))
+                .andExpect(jsonPath("$[1].name").value("Ahri"))
+                .andExpect(jsonPath("$[1].winRateDelta", closeTo(-4.0, 1e-9)));
+
+        mockMvc.perform(get("/api/meta/patch-deltas").param("from", "14.10").param("to", "14.9").param("role", "mid"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].winRateDelta", closeTo(4.0, 1e-9)));
+    }
+
+    @Test
+    void invalidPatch_isRejected() throws Exception {
+        mockMvc.perform(get("/api/meta/patch-deltas").param("from", "14.9'; drop").param("to", "14.10"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/meta/patch-deltas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+}
@@ -0,0 +1,144 @@
+package valeriodifelice.HextechHub.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import valeriodifelice.HextechHub.model.Champion;
+import valeriodifelice.HextechHub.model.Role;
+import valeriodifelice.HextechHub.repository.ChampionRepository;
+import valeriodifelice.HextechHub.repository.UserRepository;
+import valeriodifelice.HextechHub.service.ChampionService;
+import valeriodifelice.HextechHub.service.JwtService;
+
+import java.util.List;
+
+/** Test integrazione import massivo delle statistiche campioni */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ChampionIngestTests {
+
+    private static final String[] ROLES = {"TOP", "JUNGLE", "MID", "ADC", "SUPPORT"};
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ChampionRepository championRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ChampionService championService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @AfterEach
+    void cleanup() {
+        championRepository.deleteAll();
+        championService.refresh();
+    }
+
+    private String tokenFor(String email, Role role) {
+        return TestUsers.token(userRepository, jwtService, email, role);
+    }
+
+    private static String csv(int rows) {
+        StringBuilder sb = new StringBuilder("name,role,winrate,pickrate,banrate,matches\n");
+        for (int i = 0; i < rows; i++) {
+            sb.append("Champ ").append(i).append(',').append(ROLES[i % ROLES.length])
+                    .append(",\"50,").append(i % 10).append("%\",5%,1%,\"12,345\"\n");
+        }
+        return sb.toString();
+    }
+
+    @Test
+    void csvIngest_writesAllRowsInBatchesAndSwapsSnapshotOnce() throws Exception {
+        String admin = tokenFor("ingest-admin@example.com", Role.ADMIN);
+        long before = championService.getSnapshot().version();
+
+        mockMvc.perform(post("/api/admin/champions/ingest")
+                        .header("Authorization", "Bearer " + admin)
+                        .contentType("text/csv")
+                        .content(csv(3000)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(3000))
+                .andExpect(jsonPath("$.upserted").value(3000))
+                .andExpect(jsonPath("$.batches").value(3));
+
+        assertEquals(3000, championRepository.count());
+        assertEquals(3000, championService.getSnapshot().size());
+        assertNotEquals(before, championService.getSnapshot().version());
+        Champion first = championRepository.findByRoleIgnoreCase("TOP").stream()
+                .filter(c -> c.getName().equals("Champ 0")).findFirst().orElseThrow();
+        assertEquals(12345, first.getMatchesCount());
+        assertEquals(50.0, first.getWinRatePct());
+
+        // Secondo import JSON: aggiorna per (name, role) senza duplicare e rimuove i campioni assenti
+        mockMvc.perform(post("/api/admin/champions/ingest")
+                        .param("replace", "true")
+                        .header("Authorization", "Bearer " + admin)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\":\"Champ 0\",\"role\":\"TOP\",\"winrate\":\"53.5%\",\"pickrate\":\"9%\",\"banrate\":\"2%\",\"matches\":\"1.000\"}," +
+                                "{\"name\":\"Champ 0\",\"role\":\"MID\",\"winRate\":51,\"pickRate\":4,\"banRate\":1,\"matches\":800}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.upserted").value(2))
+                .andExpect(jsonPath("$.removed").value(2999));
+
+        List<Champion> remaining = championRepository.findAllOrderedByWinRate();
+        assertEquals(List.of("TOP", "MID"), remaining.stream().map(Champion::getRole).toList());
+        assertEquals(first.getId(), remaining.get(0).getId());
+        assertEquals(53.5, remaining.get(0).getWinRatePct());
+        assertEquals(2, championService.getSnapshot().size());
+    }
+
+    @Test
+    void invalidRow_rollsBackWholeIngest() throws Exception {
+        String admin = tokenFor("ingest-admin@example.com", Role.ADMIN);
+
+        mockMvc.perform(post("/api/admin/champions/ingest")
+                        .header("Authorization", "Bearer " + admin)
+                        .contentType("text/csv")
+                        .content(csv(1500) + ",MID,50%,5%,1%,100\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Riga 1501: name e role obbligatori"));
+        assertEquals(0, championRepository.count());
+
+        mockMvc.perform(post("/api/admin/champions/ingest")
+                        .header("Authorization", "Bearer " + admin)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Ahri\"}"))
+                .andExpect(status().isBadRequest());
+
+        // Valori non numerici: 400 e nessuna riga salvata come 0%
+        mockMvc.perform(post("/api/admin/champions/ingest")
+                        .header("Authorization", "Bearer " + admin)
+                        .contentType("text/csv")
+                        .content(csv(10) + "Teemo,TOP,n/a,5%,1%,100\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Riga 11 (Teemo): percentuale non valida: 'n/a'"));
+        mockMvc.perform(post("/api/admin/champions/ingest")
+                        .header("Authorization", "Bearer " + admin)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\":\"Ahri\",\"role\":\"MID\",\"winRate\":54,\"pickRate\":6,\"banRate\":2,\"matches\":\"abc\"}]"))
+                .andExpect(status().isBadRequest());
+        assertEquals(0, championRepository.count());
+
+        mockMvc.perform(post("/api/admin/champions/ingest")
+                        .header("Authorization", "Bearer " + tokenFor("ingest-user@example.com", Role.USER))
+                        .contentType("text/csv")
+                        .content(csv(1)))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,143 @@
+package valeriodifelice.HextechHub.integration;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import jakarta.persistence.EntityManagerFactory;
+import valeriodifelice.HextechHub.model.Role;
+import valeriodifelice.HextechHub.repository.ChampionRepository;
+import valeriodifelice.HextechHub.repository.UserRepository;
+import valeriodifelice.HextechHub.service.ChampionService;
+import valeriodifelice.HextechHub.service.ChampionStatsMigration;
+import valeriodifelice.HextechHub.service.JwtService;
+
+/** Test integrazione statistiche campioni per regione */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ChampionRegionTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ChampionRepository championRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ChampionService championService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ChampionStatsMigration statsMigration;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @AfterEach
+    void cleanup() {
+        championRepository.deleteAll();
+        championService.refresh();
+    }
+
+    private void ingest(String region, String csv, boolean replace) throws Exception {
+        String admin = TestUsers.token(userRepository, jwtService, "region-admin@example.com", Role.ADMIN);
+        var request = post("/api/admin/champions/ingest")
+                .header("Authorization", "Bearer " + admin)
+                .param("replace", String.valueOf(replace))
+                .contentType("text/csv")
+                .content("name,role,winrate,pickrate,banrate,matches\n" + csv);
+        if (region != null) {
+            request.param("region", region);
+        }
+        mockMvc.perform(request).andExpect(status().isOk());
+    }
+
+    @Test
+    void regionalSnapshots_serveChampionsAndTierListsPerRegion() throws Exception {
+        ingest(null, "Ahri,MID,50%,8%,2%,1000\nJinx,ADC,51%,11%,5%,2000\n", false);
+        ingest("euw", "Ahri,MID,53%,9%,2%,400\nJinx,ADC,48%,10%,4%,500\n", false);
+        ingest("KR", "Ahri,MID,47%,6%,1%,900\n", false);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/api/champions"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].region").value("GLOBAL"))
+                .andExpect(jsonPath("$[0].name").value("Jinx"));
+
+        mockMvc.perform(get("/api/champions").param("region", "euw"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].region").value("EUW"))
+                .andExpect(jsonPath("$[0].name").value("Ahri"))
+                .andExpect(jsonPath("$[0].winRate").value(53.0));
+
+        mockMvc.perform(get("/api/champions/role/mid").param("region", "KR"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].winRate").value(47.0));
+
+        // Regione senza dati: snapshot vuoto, non le statistiche globali
+        mockMvc.perform(get("/api/champions").param("region", "NA"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        mockMvc.perform(get("/api/meta/tier-list").param("region", "EUW").param("role", "adc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].winRate").value(48.0));
+
+        assertEquals(0, statistics.getPrepareStatementCount(), "le letture per regione non devono interrogare il database");
+
+        mockMvc.perform(get("/api/champions").param("region", "mars"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void replaceIngest_onlyAffectsItsRegion() throws Exception {
+        ingest(null, "Ahri,MID,50%,8%,2%,1000\nJinx,ADC,51%,11%,5%,2000\n", false);
+        ingest("EUW", "Ahri,MID,53%,9%,2%,400\nJinx,ADC,48%,10%,4%,500\n", false);
+        ingest("EUW", "Jinx,ADC,49%,10%,4%,600\n", true);
+
+        assertEquals(2, championService.getSnapshot().size());
+        assertEquals(1, championService.getSnapshot("euw").size());
+        assertEquals(championService.getSnapshot().version(), championService.getSnapshot("EUW").version());
+        assertEquals(3, championRepository.count());
+    }
+
+    @Test
+    void legacyNameRoleKey_isDroppedBeforeRegionalIngest() throws Exception {
+        // Database creato prima delle regioni: ddl-auto=update lascia il vecchio vincolo (name, role)
+        jdbc.execute("alter table champions add constraint uk_champions_name_role unique (name, role)");
+        statsMigration.dropLegacyNaturalKey();
+
+        ingest(null, "Ahri,MID,50%,8%,2%,1000\n", false);
+        ingest("EUW", "Ahri,MID,53%,9%,2%,400\n", false);
+
+        assertEquals(2, championRepository.count());
+        // Idempotente: all'avvio successivo il vincolo non c'è più
+        statsMigration.dropLegacyNaturalKey();
+    }
+}
@@ -0,0 +1,125 @@
+package valeriodifelice.HextechHub.integration;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import jakarta.persistence.EntityManagerFactory;
+import valeriodifelice.HextechHub.model.Champion;
+import valeriodifelice.HextechHub.model.Role;
+import valeriodifelice.HextechHub.repository.ChampionRepository;
+import valeriodifelice.HextechHub.repository.UserRepository;
+import valeriodifelice.HextechHub.service.ChampionService;
+import valeriodifelice.HextechHub.service.ChampionStatsMigration;
+import valeriodifelice.HextechHub.service.JwtService;
+
+import java.util.List;
+
+/** Test integrazione snapshot in memoria delle statistiche campioni */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ChampionSnapshotTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ChampionRepository championRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ChampionService championService;
+
+    @Autowired
+    private ChampionStatsMigration championStatsMigration;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void cleanup() {
+        championRepository.deleteAll();
+        championService.refresh();
+    }
+
+    private String tokenFor(String email, Role role) {
+        return TestUsers.token(userRepository, jwtService, email, role);
+    }
+
+    @Test
+    void adminRefresh_publishesParsedSnapshotServedWithoutQueries() throws Exception {
+        championRepository.saveAll(List.of(
+                Champion.builder().name("Ahri").role("MID").winRate("52,3%").pickRate("8.1%").banRate("3%").matches("12.345").build(),
+                Champion.builder().name("Jinx").role("ADC").winRate("50.9").pickRate("11,2").banRate("6.5%").matches("20 001").build()));
+
+        mockMvc.perform(post("/api/admin/champions/refresh")
+                        .header("Authorization", "Bearer " + tokenFor("snapshot-user@example.com", Role.USER)))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(post("/api/admin/champions/refresh")
+                        .header("Authorization", "Bearer " + tokenFor("snapshot-admin@example.com", Role.ADMIN)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.champions").value(2));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/api/champions"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].winRate").value(52.3))
+                .andExpect(jsonPath("$[0].matches").value(12345));
+
+        mockMvc.perform(get("/api/champions/role/adc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name").value("Jinx"))
+                .andExpect(jsonPath("$[0].pickRate").value(11.2));
+
+        mockMvc.perform(get("/api/meta/tier-list"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].tier").value("B"));
+
+        mockMvc.perform(get("/api/meta/tier-list").param("role", "mid"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name").value("Ahri"));
+
+        assertEquals(0, statistics.getPrepareStatementCount(), "le letture campioni non devono interrogare il database");
+    }
+
+    @Test
+    void migration_fillsNumericColumnsUsedForDatabaseSorting() {
+        championRepository.saveAll(List.of(
+                Champion.builder().name("Garen").role("TOP").winRate("49,1%").pickRate("5%").banRate("1%").matches("9.000").build(),
+                Champion.builder().name("Darius").role("TOP").winRate("51.4%").pickRate("7%").banRate("9%").matches("11.500").build(),
+                Champion.builder().name("Lux").role("SUPPORT").winRate("50%").pickRate("6%").banRate("2%").matches("8.000").build()));
+
+        assertEquals(3, championStatsMigration.migrateAll());
+        assertEquals(0, championStatsMigration.migrateAll());
+
+        // Riga scritta dopo la migrazione senza colonne numeriche: ordinata in fondo
+        championRepository.save(Champion.builder().name("Teemo").role("TOP").winRate("60%").pickRate("3%").banRate("8%").matches("4.000").build());
+
+        List<Champion> ranked = championRepository.findAllOrderedByWinRate();
+        assertEquals(List.of("Darius", "Lux", "Garen", "Teemo"), ranked.stream().map(Champion::getName).toList());
+        assertEquals(11500, ranked.get(0).getMatchesCount());
+    }
+}
@@ -0,0 +1,145 @@
+package valeriodifelice.HextechHub.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import jakarta.persistence.EntityManagerFactory;
+import valeriodifelice.HextechHub.dto.ArticleRequest;
+import valeriodifelice.HextechHub.model.Article;
+import valeriodifelice.HextechHub.model.Champion;
+import valeriodifelice.HextechHub.model.Role;
+import valeriodifelice.HextechHub.model.User;
+import valeriodifelice.HextechHub.repository.ArticleRepository;
+import valeriodifelice.HextechHub.repository.ChampionRepository;
+import valeriodifelice.HextechHub.repository.UserRepository;
+import valeriodifelice.HextechHub.service.ArticleService;
+import valeriodifelice.HextechHub.service.ArticleVersionService;
+import valeriodifelice.HextechHub.service.ChampionService;
+
+/** Test integrazione ETag / If-None-Match sugli endpoint pubblici di lettura */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ConditionalGetTests {
+
+    private static final String AUTHOR = "etag-author@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private ChampionRepository championRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ChampionService championService;
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private ArticleVersionService articleVersionService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void cleanup() {
+        articleRepository.deleteAll();
+        championRepository.deleteAll();
+        championService.refresh();
+    }
+
+    private static ArticleRequest request(String title) {
+        ArticleRequest request = new ArticleRequest();
+        request.setTitle(title);
+        request.setContent("Contenuto");
+        request.setPublished(true);
+        return request;
+    }
+
+    private long saveArticle(String title) {
+        TestUsers.ensure(userRepository, AUTHOR, Role.USER);
+        return articleService.create(request(title), AUTHOR).getId();
+    }
+
+    private String etagOf(String url) throws Exception {
+        String etag = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotNull(etag, url + " senza ETag");
+        return etag;
+    }
+
+    @Test
+    void publicArticles_answer304UntilDataChanges() throws Exception {
+        // Scrittura senza outbox: nessuna consegna in background durante il conteggio delle query
+        User author = TestUsers.ensure(userRepository, AUTHOR, Role.USER);
+        transactionTemplate.executeWithoutResult(tx -> {
+            articleRepository.save(Article.builder().title("Primo").content("Contenuto").published(true).author(author).build());
+            articleVersionService.increment();
+        });
+        String etag = etagOf("/api/articles/public");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get("/api/articles/public").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        // Solo la lettura per chiave del contatore di versione, nessuna lettura degli articoli
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        mockMvc.perform(get("/api/articles/public/feed").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        long second = saveArticle("Secondo");
+        String afterInsert = etagOf("/api/articles/public");
+        assertNotEquals(etag, afterInsert);
+
+        articleService.update(second, request("Secondo (modificato)"), AUTHOR, false);
+        String afterUpdate = etagOf("/api/articles/public");
+        assertNotEquals(afterInsert, afterUpdate);
+
+        articleService.delete(second, AUTHOR, false);
+        mockMvc.perform(get("/api/articles/public").header("If-None-Match", afterUpdate))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void championsAndTierList_followSnapshotVersion() throws Exception {
+        championRepository.save(Champion.builder().name("Ahri").role("MID")
+                .winRate("52%").pickRate("8%").banRate("3%").matches("1000").build());
+        championService.refresh();
+
+        for (String url : new String[] {"/api/champions", "/api/champions/role/mid", "/api/meta/tier-list"}) {
+            String etag = etagOf(url);
+            mockMvc.perform(get(url).header("If-None-Match", etag))
+                    .andExpect(status().isNotModified());
+        }
+
+        String before = etagOf("/api/champions");
+        championService.refresh();
+        mockMvc.perform(get("/api/champions").header("If-None-Match", before))
+                .andExpect(status().isOk());
+    }
+}
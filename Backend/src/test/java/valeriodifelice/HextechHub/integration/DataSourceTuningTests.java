@@ -0,0 +1,49 @@
+package valeriodifelice.HextechHub.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+@SpringBootTest(properties = {
+        "app.datasource.pool.auto-size=true",
+        "app.datasource.pool.max-size=6",
+        "app.datasource.slow-query.enabled=true",
+        "app.datasource.slow-query.threshold-ms=0"
+})
+public class DataSourceTuningTests {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void prodTuning_sizesPoolFromCoresAndLogsSlowQueries() throws Exception {
+        assertTrue(dataSource instanceof ProxyDataSource);
+        int expected = Math.max(2, Math.min(6, Runtime.getRuntime().availableProcessors() * 2 + 1));
+        assertEquals(expected, dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize());
+
+        // Soglia 0: ogni istruzione è "lenta" e viene contata
+        double before = meterRegistry.counter("jdbc.slow.queries").count();
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from users where email = ?", Integer.class,
+                "nessuno@example.com"));
+        assertTrue(meterRegistry.counter("jdbc.slow.queries").count() > before);
+
+        // Le metriche del pool restano disponibili anche dietro al proxy
+        assertNotNull(meterRegistry.find("hikaricp.connections.acquire").timer());
+    }
+}
@@ -0,0 +1,57 @@
+package valeriodifelice.HextechHub.integration;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import valeriodifelice.HextechHub.service.PasswordHashingService;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/** Test integrazione: con l'esecutore BCrypt saturo il login risponde 429, anche per utenti inesistenti */
+@SpringBootTest(properties = {
+        "security.bcrypt.threads=1",
+        "security.bcrypt.queue-capacity=0",
+        "security.bcrypt.retry-after-seconds=7"
+})
+@AutoConfigureMockMvc
+public class LoginBackPressureTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Test
+    void saturatedHashing_unknownUserLogin_returns429WithRetryAfter() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // Occupa l'unico thread BCrypt: senza coda ogni altra operazione viene rifiutata
+        CompletableFuture<String> busy = CompletableFuture.supplyAsync(() -> passwordHashingService.encode(() -> {
+            started.countDown();
+            release.await();
+            return "hash";
+        }));
+        try {
+            started.await(5, TimeUnit.SECONDS);
+            mockMvc.perform(post("/api/auth/login")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"email\":\"nessuno@example.com\",\"password\":\"Password123!\"}"))
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "7"));
+        } finally {
+            release.countDown();
+            busy.get(5, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package valeriodifelice.HextechHub.integration;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import valeriodifelice.HextechHub.service.JwtService;
+
+import java.util.Map;
+
+/** Test integrazione metriche Prometheus ed esposizione degli endpoint actuator */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+public class MetricsTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Test
+    void prometheusEndpoint_exposesEndpointServiceAndAuthMetrics() throws Exception {
+        mockMvc.perform(get("/api/champions")).andExpect(status().isOk());
+        mockMvc.perform(post("/api/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"metrics@example.com\",\"password\":\"Password123!\",\"fullName\":\"Metrics Test\",\"region\":\"EUW\"}"))
+                .andExpect(status().isOk());
+        // Primo accesso verifica la firma, il secondo arriva dalla cache dei claims
+        String token = jwtService.generateToken("metrics@example.com", Map.of("role", "USER"));
+        jwtService.extractUsername(token);
+        jwtService.extractUsername(token);
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(scrape.contains("http_server_requests_seconds_bucket{"));
+        assertTrue(scrape.contains("uri=\"/api/champions\""));
+        assertTrue(scrape.contains("hextechhub_service_seconds_bucket{"));
+        assertTrue(scrape.contains("class=\"valeriodifelice.HextechHub.service.ChampionService\""));
+        assertTrue(scrape.contains("auth_hash_latency_seconds_bucket{"));
+        assertTrue(scrape.contains("auth_jwt_parse_seconds_count"));
+        assertTrue(scrape.lines().anyMatch(line -> line.startsWith("auth_jwt_cache_total{") && line.contains("result=\"hit\"")));
+        assertTrue(scrape.contains("spring_data_repository_invocations_seconds_bucket{"));
+        assertTrue(scrape.contains("cache_gets_total"));
+        assertTrue(scrape.contains("hibernate_query_executions_total"));
+    }
+
+    @Test
+    void otherActuatorEndpoints_requireAdmin() throws Exception {
+        mockMvc.perform(get("/actuator/metrics")).andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,201 @@
+package valeriodifelice.HextechHub.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.support.TransactionTemplate;
+import valeriodifelice.HextechHub.event.OutboxMessage;
+import valeriodifelice.HextechHub.event.OutboxSubscriber;
+import valeriodifelice.HextechHub.model.OutboxEvent;
+import valeriodifelice.HextechHub.repository.OutboxEventRepository;
+import valeriodifelice.HextechHub.service.OutboxDispatcher;
+import valeriodifelice.HextechHub.service.OutboxService;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@SpringBootTest(properties = "outbox.retry-backoff-ms=0")
+public class OutboxTests {
+
+    private static final String FLAKY_TYPE = "test.flaky";
+    private static final String LOCAL_TYPE = "test.local";
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private OutboxEventRepository outboxRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private FlakySubscriber flakySubscriber;
+
+    @Autowired
+    private LocalSubscriber localSubscriber;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void cleanup() {
+        outboxRepository.deleteAll();
+        localSubscriber.received.clear();
+    }
+
+    private static OutboxEvent localEvent(String key, Instant dispatchedAt) {
+        Instant now = Instant.now();
+        return OutboxEvent.builder().type(LOCAL_TYPE).aggregateId(7L).idempotencyKey(key)
+                .createdAt(now).availableAt(now).dispatchedAt(dispatchedAt).build();
+    }
+
+    @Test
+    void append_requiresTransactionAndRollsBackWithIt() {
+        assertThrows(IllegalTransactionStateException.class, () -> outboxService.append(FLAKY_TYPE, 1L));
+
+        long before = outboxRepository.count();
+        transactionTemplate.executeWithoutResult(tx -> {
+            outboxService.append(FLAKY_TYPE, 1L);
+            tx.setRollbackOnly();
+        });
+        assertEquals(before, outboxRepository.count());
+    }
+
+    @Test
+    void dispatcher_retriesFailedSubscriberWithSameIdempotencyKey() {
+        OutboxEvent appended = transactionTemplate.execute(tx -> outboxService.append(FLAKY_TYPE, 42L));
+        assertNotNull(appended);
+
+        // Il primo tentativo fallisce, il successivo (backoff 0) consegna
+        for (int i = 0; i < 5 && outboxRepository.findById(appended.getId()).orElseThrow().getDispatchedAt() == null; i++) {
+            outboxDispatcher.drain();
+        }
+
+        OutboxEvent event = outboxRepository.findById(appended.getId()).orElseThrow();
+        assertNotNull(event.getDispatchedAt());
+        assertEquals(1, event.getAttempts());
+        assertNull(event.getLastError());
+        assertEquals("flaky", event.getDelivered());
+        assertEquals(List.of(appended.getIdempotencyKey(), appended.getIdempotencyKey()), flakySubscriber.received);
+
+        outboxDispatcher.poll();
+        assertNotNull(meterRegistry.find("outbox.pending").gauge());
+        assertNotNull(meterRegistry.find("outbox.lag").gauge());
+        assertTrue(meterRegistry.get("outbox.dispatched").counter().count() >= 1);
+        assertTrue(meterRegistry.get("outbox.delivery.failures").tag("subscriber", "flaky").counter().count() >= 1);
+    }
+
+    @Test
+    void instanceSubscriber_receivesEventsDispatchedByAnotherInstance() {
+        // Prenotato e consegnato da un'altra istanza: lo stato in memoria di questa va aggiornato comunque
+        OutboxEvent event = outboxRepository.save(localEvent("local-remote", Instant.now()));
+        outboxDispatcher.drain();
+        outboxDispatcher.drain();
+
+        assertEquals(List.of("local-remote"), localSubscriber.received);
+        assertNull(outboxRepository.findById(event.getId()).orElseThrow().getDelivered());
+    }
+
+    @Test
+    void instanceSubscriber_receivesEventCommittedAfterHigherId() throws Exception {
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        Thread slow = Thread.ofVirtual().start(() -> transactionTemplate.executeWithoutResult(tx -> {
+            outboxRepository.saveAndFlush(localEvent("local-slow", null));
+            inserted.countDown();
+            try {
+                commit.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        inserted.await();
+
+        // L'id maggiore è visibile per primo: quello minore resta da rileggere
+        outboxRepository.save(localEvent("local-fast", null));
+        outboxDispatcher.drain();
+        assertEquals(List.of("local-fast"), localSubscriber.received);
+
+        commit.countDown();
+        slow.join();
+        outboxDispatcher.drain();
+        assertEquals(List.of("local-fast", "local-slow"), localSubscriber.received);
+    }
+
+    static class FlakySubscriber implements OutboxSubscriber {
+        final List<String> received = new CopyOnWriteArrayList<>();
+        private final AtomicBoolean failed = new AtomicBoolean();
+
+        @Override
+        public String name() {
+            return "flaky";
+        }
+
+        @Override
+        public boolean supports(String type) {
+            return FLAKY_TYPE.equals(type);
+        }
+
+        @Override
+        public void handle(OutboxMessage message) {
+            received.add(message.idempotencyKey());
+            if (failed.compareAndSet(false, true)) {
+                throw new IllegalStateException("Sottoscrittore non disponibile");
+            }
+        }
+    }
+
+    static class LocalSubscriber implements OutboxSubscriber {
+        final List<String> received = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String name() {
+            return "local";
+        }
+
+        @Override
+        public boolean supports(String type) {
+            return LOCAL_TYPE.equals(type);
+        }
+
+        @Override
+        public void handle(OutboxMessage message) {
+            received.add(message.idempotencyKey());
+        }
+
+        @Override
+        public boolean perInstance() {
+            return true;
+        }
+    }
+
+    @TestConfiguration
+    static class FlakyConfig {
+        @Bean
+        FlakySubscriber flakySubscriber() {
+            return new FlakySubscriber();
+        }
+
+        @Bean
+        LocalSubscriber localSubscriber() {
+            return new LocalSubscriber();
+        }
+    }
+}
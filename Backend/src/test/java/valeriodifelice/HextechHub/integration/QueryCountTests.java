@@ -0,0 +1,133 @@
+package valeriodifelice.HextechHub.integration;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import jakarta.persistence.EntityManagerFactory;
+import valeriodifelice.HextechHub.model.Article;
+import valeriodifelice.HextechHub.model.Role;
+import valeriodifelice.HextechHub.model.User;
+import valeriodifelice.HextechHub.repository.ArticleRepository;
+import valeriodifelice.HextechHub.repository.UserRepository;
+import valeriodifelice.HextechHub.service.JwtService;
+
+import java.util.Map;
+
+/** Verifica che le liste di articoli eseguano un numero fisso di query, indipendente da N */
+@SpringBootTest(properties = "security.jwt.stateless=true")
+@AutoConfigureMockMvc
+public class QueryCountTests {
+
+    // Soglia massima di statement per una richiesta di lista (autenticazione inclusa)
+    private static final long MAX_LIST_QUERIES = 2;
+    private static final int AUTHORS = 3;
+    private static final int ARTICLES_PER_AUTHOR = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void seed() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (int a = 0; a < AUTHORS; a++) {
+            String email = "qc-author-" + a + "@example.com";
+            User author = TestUsers.ensure(userRepository, email, Role.USER);
+            for (int i = 0; i < ARTICLES_PER_AUTHOR; i++) {
+                articleRepository.save(Article.builder()
+                        .title("Articolo " + a + "-" + i)
+                        .content("Contenuto")
+                        .categories("meta,guide")
+                        .published(true)
+                        .author(author)
+                        .build());
+            }
+        }
+    }
+
+    @AfterEach
+    void cleanup() {
+        articleRepository.deleteAll();
+    }
+
+    private long statementsOf(ThrowingRunnable action) throws Exception {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void assertWithinBudget(String what, long statements) {
+        assertTrue(statements <= MAX_LIST_QUERIES,
+                what + " ha eseguito " + statements + " query (massimo " + MAX_LIST_QUERIES + ")");
+    }
+
+    @Test
+    void publicList_runsFixedNumberOfQueries() throws Exception {
+        long statements = statementsOf(() -> mockMvc.perform(get("/api/articles/public"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(AUTHORS * ARTICLES_PER_AUTHOR))));
+        assertWithinBudget("GET /api/articles/public", statements);
+    }
+
+    @Test
+    void publicFeed_runsFixedNumberOfQueries() throws Exception {
+        long statements = statementsOf(() -> mockMvc.perform(get("/api/articles/public/feed").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(10))));
+        assertWithinBudget("GET /api/articles/public/feed", statements);
+    }
+
+    @Test
+    void mineList_runsFixedNumberOfQueries() throws Exception {
+        String token = jwtService.generateToken("qc-author-0@example.com", Map.of("role", "USER"));
+        long statements = statementsOf(() -> mockMvc.perform(get("/api/articles/mine")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(ARTICLES_PER_AUTHOR))));
+        assertWithinBudget("GET /api/articles/mine", statements);
+        // Autenticazione stateless: nessuna query per caricare l'utente
+        assertEquals(1, statements, "GET /api/articles/mine non dovrebbe rileggere l'utente dal database");
+    }
+
+    @Test
+    void entityGraphVariants_fetchAuthorsInSingleQuery() throws Exception {
+        long statements = statementsOf(() -> transactionTemplate.executeWithoutResult(tx ->
+                articleRepository.findByPublishedTrue().forEach(a -> a.getAuthor().getEmail())));
+        assertEquals(1, statements, "findByPublishedTrue dovrebbe caricare gli autori nella stessa query");
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,142 @@
+package valeriodifelice.HextechHub.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import redis.embedded.RedisServer;
+import valeriodifelice.HextechHub.config.CacheNames;
+import valeriodifelice.HextechHub.model.Champion;
+import valeriodifelice.HextechHub.model.Role;
+import valeriodifelice.HextechHub.repository.ChampionRepository;
+import valeriodifelice.HextechHub.repository.UserRepository;
+import valeriodifelice.HextechHub.service.ChampionService;
+import valeriodifelice.HextechHub.service.SerializedResponseCache;
+import valeriodifelice.HextechHub.service.UserDetailsServiceImpl;
+
+import java.io.IOException;
+import java.util.Set;
+
+/** Test integrazione backend Redis delle cache nominate, su un server Redis embedded */
+@SpringBootTest(properties = {
+        "app.cache.type=redis",
+        "app.cache.specs.champions.ttl=5m",
+        "spring.data.redis.host=localhost",
+        "spring.data.redis.port=" + RedisCacheBackendTests.REDIS_PORT,
+        "security.user-cache.enabled=true"})
+@AutoConfigureMockMvc
+public class RedisCacheBackendTests {
+
+    static final int REDIS_PORT = 16379;
+
+    private static RedisServer redisServer;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private StringRedisTemplate redis;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SerializedResponseCache responseCache;
+
+    @Autowired
+    private ChampionRepository championRepository;
+
+    @Autowired
+    private ChampionService championService;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        redisServer = new RedisServer(REDIS_PORT);
+        redisServer.start();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        if (redisServer != null) {
+            redisServer.stop();
+        }
+    }
+
+    @AfterEach
+    void cleanup() {
+        championRepository.deleteAll();
+        championService.refresh();
+    }
+
+    @Test
+    void championPayloads_storedInRedisWithTtlAndClearedOnRefresh() throws Exception {
+        assertInstanceOf(RedisCache.class, cacheManager.getCache(CacheNames.CHAMPIONS));
+        championRepository.save(Champion.builder().name("Ahri").role("MID")
+                .winRate("52%").pickRate("8%").banRate("3%").matches("1000").build());
+        championService.refresh();
+
+        mockMvc.perform(get("/api/champions")).andExpect(status().isOk()).andExpect(jsonPath("$.length()").value(1));
+        mockMvc.perform(get("/api/champions")).andExpect(status().isOk()).andExpect(jsonPath("$[0].name").value("Ahri"));
+
+        String etag = "champions-" + championService.getSnapshot().version();
+        assertTrue(responseCache.contains(CacheNames.CHAMPIONS, "GLOBAL:all", etag));
+        Set<String> keys = redis.keys("hextechhub:champions::*");
+        assertEquals(1, keys.size());
+        long ttl = redis.getExpire(keys.iterator().next());
+        assertTrue(ttl > 0 && ttl <= 300, "TTL dalla spec champions: " + ttl);
+
+        // Statistiche hit/miss esposte come metriche della cache nominata
+        assertNotNull(meterRegistry.find("cache.gets").tags("cache", CacheNames.CHAMPIONS, "result", "hit").functionCounter());
+        assertTrue(meterRegistry.get("cache.gets").tags("cache", CacheNames.CHAMPIONS, "result", "hit")
+                .functionCounter().count() >= 1);
+
+        championService.refresh();
+        assertTrue(redis.keys("hextechhub:champions::*").isEmpty());
+        assertFalse(responseCache.contains(CacheNames.CHAMPIONS, "GLOBAL:all", etag));
+    }
+
+    @Test
+    void users_stayInProcessAndNeverReachRedis() {
+        assertInstanceOf(CaffeineCache.class, cacheManager.getCache(CacheNames.USERS));
+        TestUsers.ensure(userRepository, "redis-user@example.com", Role.USER);
+        userDetailsService.loadUserByUsername("redis-user@example.com");
+        try {
+            userDetailsService.loadUserByUsername("assente-redis@example.com");
+        } catch (org.springframework.security.core.userdetails.UsernameNotFoundException expected) {
+            // atteso: nessuna voce scritta per utenti inesistenti
+        }
+
+        // Hash delle password solo nella cache locale
+        assertNotNull(cacheManager.getCache(CacheNames.USERS).get("redis-user@example.com"));
+        assertNull(cacheManager.getCache(CacheNames.USERS).get("assente-redis@example.com"));
+        assertTrue(redis.keys("hextechhub:users::*").isEmpty());
+    }
+}
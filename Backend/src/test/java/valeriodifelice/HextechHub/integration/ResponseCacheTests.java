@@ -0,0 +1,156 @@
+package valeriodifelice.HextechHub.integration;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import valeriodifelice.HextechHub.config.CacheNames;
+import valeriodifelice.HextechHub.model.Champion;
+import valeriodifelice.HextechHub.model.Role;
+import valeriodifelice.HextechHub.repository.ArticleRepository;
+import valeriodifelice.HextechHub.repository.ChampionRepository;
+import valeriodifelice.HextechHub.repository.UserRepository;
+import valeriodifelice.HextechHub.service.ArticleService;
+import valeriodifelice.HextechHub.service.CachedResponse;
+import valeriodifelice.HextechHub.service.ChampionService;
+import valeriodifelice.HextechHub.service.JwtService;
+import valeriodifelice.HextechHub.service.SerializedResponseCache;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/** Test integrazione cache delle risposte serializzate (JSON e gzip) */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ResponseCacheTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SerializedResponseCache responseCache;
+
+    @Autowired
+    private ChampionRepository championRepository;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ChampionService championService;
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @AfterEach
+    void cleanup() {
+        articleRepository.deleteAll();
+        championRepository.deleteAll();
+        championService.refresh();
+    }
+
+    @Test
+    void champions_servedFromCachedBytesWithGzipVariant() throws Exception {
+        championRepository.saveAll(List.of(
+                Champion.builder().name("Ahri").role("MID").winRate("52%").pickRate("8%").banRate("3%").matches("1000").build(),
+                Champion.builder().name("Jinx").role("ADC").winRate("51%").pickRate("11%").banRate("6%").matches("2000").build()));
+        championService.refresh();
+
+        MvcResult plain = mockMvc.perform(get("/api/champions"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andReturn();
+        String etag = "champions-" + championService.getSnapshot().version();
+        CachedResponse cached = responseCache.get(CacheNames.CHAMPIONS, "GLOBAL:all", etag,
+                () -> { throw new AssertionError("la risposta doveva essere in cache"); });
+        assertArrayEquals(cached.json(), plain.getResponse().getContentAsByteArray());
+
+        MvcResult compressed = mockMvc.perform(get("/api/champions").header("Accept-Encoding", "br, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().stringValues("Vary", hasItem("Accept-Encoding")))
+                .andReturn();
+        byte[] body = compressed.getResponse().getContentAsByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertArrayEquals(cached.json(), in.readAllBytes());
+        }
+
+        mockMvc.perform(get("/api/champions").header("Accept-Encoding", "gzip;q=0"))
+                .andExpect(header().doesNotExist("Content-Encoding"));
+
+        // Il refresh dello snapshot svuota la cache campioni
+        championService.refresh();
+        assertFalse(responseCache.contains(CacheNames.CHAMPIONS, "GLOBAL:all", etag));
+    }
+
+    @Test
+    void cacheVariants_areNormalizedBeforeKeying() throws Exception {
+        championRepository.save(Champion.builder().name("Ahri").role("MID").winRate("52%").pickRate("8%")
+                .banRate("3%").matches("1000").build());
+        championService.refresh();
+
+        // Dimensioni oltre il massimo condividono la voce della pagina limitata
+        mockMvc.perform(get("/api/articles/public/feed").param("size", "5000")).andExpect(status().isOk());
+        String articlesEtag = articleService.getPublicVersionTag();
+        assertTrue(responseCache.contains(CacheNames.ARTICLE_SUMMARIES, "feed:100", articlesEtag));
+        assertFalse(responseCache.contains(CacheNames.ARTICLE_SUMMARIES, "feed:5000", articlesEtag));
+
+        // Ruoli sconosciuti: una sola voce condivisa, qualunque sia il valore richiesto
+        String championsEtag = "champions-" + championService.getSnapshot().version();
+        mockMvc.perform(get("/api/champions/role/qualsiasi")).andExpect(status().isOk()).andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get("/api/champions/role/MID")).andExpect(status().isOk()).andExpect(jsonPath("$.length()").value(1));
+        assertTrue(responseCache.contains(CacheNames.CHAMPIONS, "GLOBAL:role:NONE", championsEtag));
+        assertTrue(responseCache.contains(CacheNames.CHAMPIONS, "GLOBAL:role:mid", championsEtag));
+        assertFalse(responseCache.contains(CacheNames.CHAMPIONS, "GLOBAL:role:qualsiasi", championsEtag));
+
+        String tiersEtag = "tiers-" + championService.getSnapshot().version();
+        mockMvc.perform(get("/api/meta/tier-list").param("role", "inventato")).andExpect(status().isOk());
+        assertTrue(responseCache.contains(CacheNames.TIER_LISTS, "GLOBAL:tiers:NONE", tiersEtag));
+    }
+
+    @Test
+    void articleWrites_evictArticlePayloads() throws Exception {
+        String token = TestUsers.token(userRepository, jwtService, "cache-author@example.com", Role.USER);
+
+        mockMvc.perform(get("/api/articles/public")).andExpect(status().isOk());
+        String etag = articleService.getPublicVersionTag();
+        assertTrue(responseCache.contains(CacheNames.ARTICLE_SUMMARIES, "public", etag));
+
+        mockMvc.perform(post("/api/articles")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Nuovo\",\"content\":\"Testo\",\"published\":true}"))
+                .andExpect(status().isOk());
+        assertFalse(responseCache.contains(CacheNames.ARTICLE_SUMMARIES, "public", etag));
+
+        mockMvc.perform(get("/api/articles/public"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Nuovo"));
+        CachedResponse first = responseCache.get(CacheNames.ARTICLE_SUMMARIES, "public", "non-corrente", List::of);
+        CachedResponse second = responseCache.get(CacheNames.ARTICLE_SUMMARIES, "public", "non-corrente", List::of);
+        assertSame(first, second);
+    }
+}
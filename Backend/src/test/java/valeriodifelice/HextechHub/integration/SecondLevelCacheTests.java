@@ -0,0 +1,103 @@
+package valeriodifelice.HextechHub.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import valeriodifelice.HextechHub.config.HibernateCacheConfig;
+import valeriodifelice.HextechHub.model.Champion;
+import valeriodifelice.HextechHub.model.Role;
+import valeriodifelice.HextechHub.model.User;
+import valeriodifelice.HextechHub.repository.ChampionRepository;
+import valeriodifelice.HextechHub.repository.UserRepository;
+import valeriodifelice.HextechHub.service.JwtService;
+
+import java.util.List;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class SecondLevelCacheTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ChampionRepository championRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @AfterEach
+    void cleanup() {
+        championRepository.deleteAll();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void findByEmail_isServedFromQueryCacheAndInvalidatedByWrites() {
+        User user = userRepository.save(User.builder().email("l2-user@example.com").password("hash")
+                .fullName("Cache L2").role(Role.USER).build());
+        userRepository.findByEmail("l2-user@example.com").orElseThrow();
+
+        Statistics statistics = statistics();
+        long queryHits = statistics.getQueryRegionStatistics(HibernateCacheConfig.USERS_BY_EMAIL).getHitCount();
+        long entityHits = statistics.getDomainDataRegionStatistics(HibernateCacheConfig.USER_ENTITIES).getHitCount();
+        assertEquals(Role.USER, userRepository.findByEmail("l2-user@example.com").orElseThrow().getRole());
+        assertEquals(queryHits + 1, statistics.getQueryRegionStatistics(HibernateCacheConfig.USERS_BY_EMAIL).getHitCount());
+        userRepository.findById(user.getId()).orElseThrow();
+        assertEquals(entityHits + 1, statistics.getDomainDataRegionStatistics(HibernateCacheConfig.USER_ENTITIES).getHitCount());
+
+        // Una scrittura su users invalida i risultati in cache: il cambio di ruolo è subito visibile
+        user.setRole(Role.ADMIN);
+        userRepository.save(user);
+        assertEquals(Role.ADMIN, userRepository.findByEmail("l2-user@example.com").orElseThrow().getRole());
+
+        assertTrue(meterRegistry.find("hibernate.second.level.cache.requests")
+                .tag("region", HibernateCacheConfig.USER_ENTITIES).meters().size() > 0);
+    }
+
+    @Test
+    void championIngest_evictsCachedChampions() throws Exception {
+        championRepository.save(Champion.builder().name("Ahri").role("MID").winRate("50%").pickRate("5%")
+                .banRate("1%").matches("1000").winRatePct(50.0).pickRatePct(5.0).banRatePct(1.0).matchesCount(1000).build());
+        assertEquals(50.0, championRepository.findByRoleIgnoreCase("mid").get(0).getWinRatePct());
+        assertFalse(statistics().getQueryRegionStatistics(HibernateCacheConfig.CHAMPIONS_BY_ROLE).getPutCount() == 0);
+
+        String admin = TestUsers.token(userRepository, jwtService, "l2-admin@example.com", Role.ADMIN);
+        // L'import scrive via JDBC, fuori da Hibernate: senza svuotare le regioni resterebbe il valore in cache
+        mockMvc.perform(post("/api/admin/champions/ingest")
+                        .header("Authorization", "Bearer " + admin)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\":\"Ahri\",\"role\":\"MID\",\"winRate\":54,\"pickRate\":6,\"banRate\":2,\"matches\":1200}]"))
+                .andExpect(status().isOk());
+
+        List<Champion> mid = championRepository.findByRoleIgnoreCase("mid");
+        assertEquals(1, mid.size());
+        assertEquals(54.0, mid.get(0).getWinRatePct());
+    }
+}
@@ -0,0 +1,47 @@
+package valeriodifelice.HextechHub.integration;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Articoli di prova condivisi dai test: corpo JSON di ArticleRequest serializzato dall'ObjectMapper
+ * dell'applicazione e creazione tramite l'endpoint, che restituisce l'id del nuovo articolo.
+ */
+public final class TestArticles {
+
+    private TestArticles() {
+    }
+
+    /** Corpo di creazione o modifica; le categorie sono incluse solo se indicate */
+    public static String body(ObjectMapper mapper, String title, String content, boolean published,
+                              String... categories) throws Exception {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("title", title);
+        body.put("content", content);
+        body.put("published", published);
+        if (categories.length > 0) {
+            body.put("categories", List.of(categories));
+        }
+        return mapper.writeValueAsString(body);
+    }
+
+    /** Crea l'articolo con il token dell'autore e ne restituisce l'id */
+    public static long create(MockMvc mockMvc, ObjectMapper mapper, String token, String title, String content,
+                              boolean published, String... categories) throws Exception {
+        String response = mockMvc.perform(post("/api/articles")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body(mapper, title, content, published, categories)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return mapper.readTree(response).get("id").asLong();
+    }
+}
@@ -0,0 +1,34 @@
+package valeriodifelice.HextechHub.integration;
+
+import valeriodifelice.HextechHub.model.Role;
+import valeriodifelice.HextechHub.model.User;
+import valeriodifelice.HextechHub.repository.UserRepository;
+import valeriodifelice.HextechHub.service.JwtService;
+
+import java.util.Map;
+
+/**
+ * Utenti di prova condivisi dai test: creati al primo uso (il contesto Spring è riusato tra le classi)
+ * e token JWT con il ruolo nei claims. L'utente deve esistere anche con security.jwt.stateless=false.
+ */
+public final class TestUsers {
+
+    private TestUsers() {
+    }
+
+    /** Utente con email e ruolo indicati, creato se assente; la password non è usata dai test con JWT */
+    public static User ensure(UserRepository userRepository, String email, Role role) {
+        return userRepository.findByEmail(email).orElseGet(() -> userRepository.save(User.builder()
+                .email(email)
+                .password("non-usata")
+                .fullName("Test " + role)
+                .role(role)
+                .build()));
+    }
+
+    /** Token JWT per l'utente, creato se assente */
+    public static String token(UserRepository userRepository, JwtService jwtService, String email, Role role) {
+        ensure(userRepository, email, role);
+        return jwtService.generateToken(email, Map.of("role", role.name()));
+    }
+}
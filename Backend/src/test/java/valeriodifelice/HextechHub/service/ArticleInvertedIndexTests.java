@@ -0,0 +1,48 @@
+package valeriodifelice.HextechHub.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+/** Test indice invertito in memoria e snippet evidenziati */
+class ArticleInvertedIndexTests {
+
+    @Test
+    void search_ranksTitleMatchesFirstAndRequiresAllTerms() {
+        ArticleInvertedIndex index = new ArticleInvertedIndex();
+        index.put(1, "Guida a Jinx", null, "Build e rune per Jinx in corsia bot");
+        index.put(2, "Patch notes", null, "Nerf a Jinx e buff a Caitlyn");
+        index.put(3, "Guida ad Ahri", "Mid lane", "Combo e rune per Ahri");
+
+        ArticleInvertedIndex.Matches jinx = index.search(List.of("jinx"), 0, 10);
+        assertEquals(2, jinx.total());
+        assertEquals(1, jinx.top().get(0).id());
+
+        ArticleInvertedIndex.Matches both = index.search(List.of("rune", "ahri"), 0, 10);
+        assertEquals(1, both.total());
+        assertEquals(3, both.top().get(0).id());
+
+        ArticleInvertedIndex.Matches page = index.search(List.of("rune"), 1, 1);
+        assertEquals(2, page.total());
+        assertEquals(1, page.top().size());
+
+        index.put(1, "Guida a Caitlyn", null, "Solo Caitlyn");
+        assertEquals(1, index.search(List.of("jinx"), 0, 10).total());
+        index.remove(2);
+        assertEquals(0, index.search(List.of("jinx"), 0, 10).total());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void snippet_escapesHtmlAndMarksAccentInsensitiveTerms() {
+        Set<String> terms = SearchText.queryTerms("Perché <b>");
+        assertEquals(Set.of("perche"), terms);
+        String snippet = SearchText.snippet("Ecco <script> perché conviene", terms, 200);
+        assertEquals("Ecco &lt;script&gt; <mark>perché</mark> conviene", snippet);
+        assertNull(SearchText.snippet("nessuna corrispondenza", terms, 200));
+    }
+}
@@ -0,0 +1,168 @@
+package valeriodifelice.HextechHub.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import valeriodifelice.HextechHub.dto.ArticleRequest;
+import valeriodifelice.HextechHub.integration.TestUsers;
+import valeriodifelice.HextechHub.model.Role;
+import valeriodifelice.HextechHub.repository.ArticleRepository;
+import valeriodifelice.HextechHub.repository.UserRepository;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/** Test feed live: eventi dopo le scritture, ripresa con Last-Event-ID, client lenti scollegati */
+@SpringBootTest(properties = "articles.live.client-queue=4")
+@AutoConfigureMockMvc
+class ArticleLiveFeedTests {
+
+    private static final Pattern READY_ID = Pattern.compile("id:(([0-9a-z]+)-(\\d+))\\nevent:ready");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ArticleLiveFeed articleLiveFeed;
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void cleanup() {
+        articleRepository.deleteAll();
+    }
+
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        for (int i = 0; i < 100; i++) {
+            String content = result.getResponse().getContentAsString();
+            if (content.contains(expected)) return content;
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Evento non ricevuto: " + expected + " in " + result.getResponse().getContentAsString());
+    }
+
+    @Test
+    void live_pushesWritesAndResumesFromLastEventId() throws Exception {
+        TestUsers.ensure(userRepository, "live-author@example.com", Role.USER);
+        MvcResult live = mockMvc.perform(get("/api/articles/public/live"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        Matcher ready = READY_ID.matcher(awaitContent(live, "event:ready"));
+        assertTrue(ready.find());
+        String readyId = ready.group(1);
+
+        ArticleRequest request = new ArticleRequest();
+        request.setTitle("Patch live");
+        request.setContent("Note della patch");
+        request.setPublished(true);
+        long id = articleService.create(request, "live-author@example.com").getId();
+        outboxDispatcher.drain();
+        awaitContent(live, "\"title\":\"Patch live\"");
+
+        articleService.delete(id, "live-author@example.com", false);
+        outboxDispatcher.drain();
+        awaitContent(live, "event:removed\ndata:{\"id\":" + id + "}");
+
+        // Riconnessione con l'ultimo id visto: riceve gli eventi persi, nell'ordine
+        MvcResult resumed = mockMvc.perform(get("/api/articles/public/live").header("Last-Event-ID", readyId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String replay = awaitContent(resumed, "event:removed");
+        assertTrue(replay.indexOf("event:article") < replay.indexOf("event:removed"));
+
+        // Stessa sequenza ma epoca di un'altra istanza o di un avvio precedente: il client deve ricaricare la lista
+        MvcResult foreign = mockMvc.perform(get("/api/articles/public/live")
+                        .header("Last-Event-ID", "x" + ready.group(2) + "-" + ready.group(3)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        awaitContent(foreign, "event:reset");
+
+        // Sequenza futura di questa istanza
+        MvcResult stale = mockMvc.perform(get("/api/articles/public/live")
+                        .header("Last-Event-ID", ready.group(2) + "-" + Long.MAX_VALUE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        awaitContent(stale, "event:reset");
+
+        mockMvc.perform(get("/api/articles/public/live").header("Last-Event-ID", "abc"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/articles/public/live").header("Last-Event-ID", "42"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void resume_replaysWholeBufferBeyondClientQueue() throws Exception {
+        MvcResult live = mockMvc.perform(get("/api/articles/public/live"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        Matcher ready = READY_ID.matcher(awaitContent(live, "event:ready"));
+        assertTrue(ready.find());
+
+        // Più eventi della coda del client (4): la ripresa li riceve tutti, senza reset
+        for (int i = 0; i < 10; i++) {
+            articleLiveFeed.publish(ArticleLiveFeed.REMOVED, Map.of("id", i));
+        }
+        MvcResult resumed = mockMvc.perform(get("/api/articles/public/live").header("Last-Event-ID", ready.group(1)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String replay = awaitContent(resumed, "data:{\"id\":9}");
+        assertEquals(10, replay.split("event:removed", -1).length - 1);
+        assertFalse(replay.contains("event:reset"));
+    }
+
+    @Test
+    void slowClient_isDroppedWithoutBlockingOthers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        SseEmitter stuck = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        int before = articleLiveFeed.clientCount();
+        double droppedBefore = meterRegistry.get("articles.live.dropped").counter().count();
+        articleLiveFeed.register(stuck, null);
+        assertEquals(before + 1, articleLiveFeed.clientCount());
+
+        // Coda di 4 eventi: il produttore non attende il client bloccato, lo scollega
+        for (int i = 0; i < 10; i++) {
+            articleLiveFeed.publish(ArticleLiveFeed.REMOVED, Map.of("id", i));
+        }
+        assertEquals(before, articleLiveFeed.clientCount());
+        assertEquals(droppedBefore + 1, meterRegistry.get("articles.live.dropped").counter().count());
+        release.countDown();
+    }
+}
@@ -0,0 +1,49 @@
+package valeriodifelice.HextechHub.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Map;
+
+/** Test per JwtService: validazione e cache dei claims */
+@SpringBootTest
+class JwtServiceTests {
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Test
+    void validToken_isParsedOnceAndServedFromCache() {
+        String token = jwtService.generateToken("jwt@example.com", Map.of("role", "USER"));
+
+        Claims first = jwtService.parseValidClaims(token);
+        assertNotNull(first);
+        assertEquals("jwt@example.com", first.getSubject());
+        assertEquals("USER", first.get("role"));
+        assertSame(first, jwtService.parseValidClaims(token));
+
+        assertTrue(jwtService.isTokenValid(token, "jwt@example.com"));
+        assertFalse(jwtService.isTokenValid(token, "other@example.com"));
+        assertEquals("jwt@example.com", jwtService.extractUsername(token));
+    }
+
+    @Test
+    void tamperedOrMalformedToken_isRejected() {
+        String token = jwtService.generateToken("jwt@example.com", Map.of("role", "USER"));
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertNull(jwtService.parseValidClaims(tampered));
+        assertNull(jwtService.parseValidClaims("non-un-token"));
+        assertFalse(jwtService.isTokenValid(tampered, "jwt@example.com"));
+    }
+}
@@ -0,0 +1,45 @@
+package valeriodifelice.HextechHub.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import valeriodifelice.HextechHub.exception.TooManyRequestsException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/** Test back-pressure dell'esecutore BCrypt */
+class PasswordHashingServiceTests {
+
+    @Test
+    void saturatedExecutor_rejectsWithRetryAfter() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PasswordHashingService service = new PasswordHashingService(1, 0, 5000, 3, registry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            CompletableFuture<String> busy = CompletableFuture.supplyAsync(() -> service.encode(() -> {
+                started.countDown();
+                release.await();
+                return "hash";
+            }));
+            started.await(5, TimeUnit.SECONDS);
+
+            TooManyRequestsException ex = assertThrows(TooManyRequestsException.class,
+                    () -> service.encode(() -> "altro"));
+            assertEquals(3, ex.getRetryAfterSeconds());
+            assertEquals(1.0, registry.get("auth.hash.rejected").counter().count());
+
+            release.countDown();
+            assertEquals("hash", busy.get(5, TimeUnit.SECONDS));
+            assertEquals(1, registry.get("auth.hash.latency").tag("operation", "encode").timer().count());
+        } finally {
+            release.countDown();
+            service.shutdown();
+        }
+    }
+}
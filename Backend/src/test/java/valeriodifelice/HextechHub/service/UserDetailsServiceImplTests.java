@@ -0,0 +1,66 @@
+package valeriodifelice.HextechHub.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import valeriodifelice.HextechHub.model.Role;
+import valeriodifelice.HextechHub.model.User;
+import valeriodifelice.HextechHub.repository.UserRepository;
+
+/** Test cache utenti: aggiornamenti di ruolo ed email invalidano le voci in cache */
+@SpringBootTest(properties = {"security.user-cache.enabled=true", "app.cache.specs.users.ttl=10m"})
+class UserDetailsServiceImplTests {
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private static String authorityOf(UserDetails details) {
+        return details.getAuthorities().stream().map(GrantedAuthority::getAuthority).findFirst().orElse(null);
+    }
+
+    @Test
+    void roleChange_evictsCachedUser() {
+        User user = userRepository.save(User.builder()
+                .email("cache@example.com")
+                .password("hash")
+                .fullName("Cache Test")
+                .role(Role.USER)
+                .build());
+
+        assertEquals("ROLE_USER", authorityOf(userDetailsService.loadUserByUsername("cache@example.com")));
+
+        user.setRole(Role.ADMIN);
+        userRepository.save(user);
+
+        assertEquals("ROLE_ADMIN", authorityOf(userDetailsService.loadUserByUsername("cache@example.com")));
+    }
+
+    @Test
+    void emailChange_evictsPreviousEmail() {
+        userRepository.save(User.builder()
+                .email("old-email@example.com")
+                .password("hash")
+                .fullName("Cache Email")
+                .role(Role.USER)
+                .build());
+        assertEquals("ROLE_USER", authorityOf(userDetailsService.loadUserByUsername("old-email@example.com")));
+
+        // Entità riletta dal database, come in un aggiornamento del profilo
+        User user = userRepository.findByEmail("old-email@example.com").orElseThrow();
+        user.setEmail("new-email@example.com");
+        userRepository.save(user);
+
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("old-email@example.com"));
+        assertEquals("new-email@example.com", userDetailsService.loadUserByUsername("new-email@example.com").getUsername());
+    }
+}
@@ -108,7 +108,7 @@ async function fetchArticles(): Promise<ArticleDto[]> {
   const items: ArticleDto[] = (data as any[]).map((a) => ({
     id: String(a.id),
     title: String(a.title),
-    excerpt: String((a.content ?? "").slice(0, 240)),
+    excerpt: String((a.excerpt ?? a.content ?? "").slice(0, 240)),
     date: String(a.createdAt ?? new Date().toISOString()),
     authorEmail: a.authorEmail
   }));
@@ -47,17 +47,23 @@ const crawler = new PlaywrightCrawler({
     for (const champion of champions.filter(
       (champion) => champion.name !== undefined
     )) {
+      // Colonne numeriche scritte insieme a quelle testuali: il backend ordina e serve quelle
       const result = await client.query(
         `
-        INSERT INTO champions (id, name, role, pickrate, winrate, banrate, matches)
-        VALUES ($1, $2, $3, $4, $5, $6, $7)
+        INSERT INTO champions (id, name, role, pickrate, winrate, banrate, matches,
+            pick_rate_pct, win_rate_pct, ban_rate_pct, matches_count)
+        VALUES ($1, $2, $3, $4, $5, $6, $7, $8, $9, $10, $11)
         ON CONFLICT (id) DO UPDATE SET
             name = EXCLUDED.name,
             role = EXCLUDED.role,
             pickrate = EXCLUDED.pickrate,
             winrate = EXCLUDED.winrate,
             banrate = EXCLUDED.banrate,
-            matches = EXCLUDED.matches;
+            matches = EXCLUDED.matches,
+            pick_rate_pct = EXCLUDED.pick_rate_pct,
+            win_rate_pct = EXCLUDED.win_rate_pct,
+            ban_rate_pct = EXCLUDED.ban_rate_pct,
+            matches_count = EXCLUDED.matches_count;
     `,
         [
           champion.id,
@@ -67,6 +73,10 @@ const crawler = new PlaywrightCrawler({
           champion.winrate,
           champion.banrate,
           champion.matches,
+          parsePercent(champion.pickrate),
+          parsePercent(champion.winrate),
+          parsePercent(champion.banrate),
+          parseCount(champion.matches),
         ]
       );
     }
@@ -98,3 +108,17 @@ async function autoScroll(page: any) {
     previousHeight = newHeight;
   }
 }
+
+// Stesse regole di ChampionStatsParser nel backend: "52,3%" → 52.3
+function parsePercent(value: string | undefined): number {
+  if (value === undefined) return 0;
+  const parsed = Number(value.trim().replace("%", "").replace(",", "."));
+  return Number.isFinite(parsed) ? parsed : 0;
+}
+
+// "11.500" → 11500
+function parseCount(value: string | undefined): number {
+  if (value === undefined) return 0;
+  const parsed = Number.parseInt(value.replace(/[^0-9]/g, ""), 10);
+  return Number.isFinite(parsed) ? parsed : 0;
+}